@@ -2,16 +2,21 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.bean;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Function;
 
+import io.github.mmm.bean.impl.AbstractBeanType;
 import io.github.mmm.bean.impl.BeanClassCreator;
 import io.github.mmm.bean.impl.alias.AbstractBeanAliasMap;
 import io.github.mmm.bean.impl.alias.BeanAliasMapEmpty;
 import io.github.mmm.bean.impl.properties.BeanProperties;
 import io.github.mmm.bean.impl.properties.BeanPropertiesFactory;
 import io.github.mmm.bean.impl.properties.BeanPropertiesReadOnly;
+import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.StructuredWriter;
 import io.github.mmm.property.AttributeReadOnly;
 import io.github.mmm.property.PropertyMetadata;
 import io.github.mmm.property.ReadableProperty;
@@ -149,10 +154,32 @@ public abstract class AbstractBean implements WritableBean {
     return this.properties;
   }
 
+  /**
+   * @param pristine a {@link #newInstance() new instance} of this bean with its initial values.
+   * @return {@code true} if the property values of this bean have been reset to those of the given {@code pristine}
+   *         bean, {@code false} if not supported (nothing has been changed).
+   */
+  boolean reset(AbstractBean pristine) {
+
+    return getBeanProperties().reset(pristine.getBeanProperties());
+  }
+
+  /**
+   * Notifies the {@link BeanPropertiesFactory} that this bean is fully constructed. Must only be called from methods
+   * that can not be invoked by the constructor.
+   */
+  private void onConstructed() {
+
+    if (getType() instanceof BeanPropertiesFactory factory) {
+      factory.onConstructed(this);
+    }
+  }
+
   @Override
   public final AbstractBean getReadOnly() {
 
     if (this.readOnly == null) {
+      onConstructed();
       this.readOnly = create(this);
     }
     return this.readOnly;
@@ -162,15 +189,18 @@ public abstract class AbstractBean implements WritableBean {
   @Override
   public AbstractBean newInstance() {
 
+    onConstructed();
     AbstractBean instance = create(null);
     if (isDynamic()) {
       // copy dynamic properties
+      List<WritableProperty<?>> dynamicProperties = new ArrayList<>();
       for (WritableProperty property : getBeanProperties().get()) {
         if (instance.getProperty(property.getName()) == null) {
-          property = instance.copyProperty(property);
-          instance.addProperty(property);
+          dynamicProperties.add(instance.copyProperty(property));
         }
       }
+      instance.addAll(dynamicProperties);
+      // aliases registered at runtime for dynamic properties
       instance.aliases = this.aliases;
     }
     return instance;
@@ -197,9 +227,10 @@ public abstract class AbstractBean implements WritableBean {
   }
 
   /**
-   * Creates a new instance of this {@link Bean} implementation. The default implementation uses reflection. To improve
-   * performance please override this method. Please note, that if you do so, you also need to override this method
-   * again for all sub-classes of the hierarchy.
+   * Creates a new instance of this {@link Bean} implementation. The default implementation resolves the constructor
+   * once per {@link Class} and invokes it without reflection (see
+   * {@link BeanClassCreator#doCreate(Class, WritableBean)}). If you override this method, you also need to override this
+   * method again for all sub-classes of the hierarchy.
    *
    * @param writable the {@link AdvancedBean} to wrap as {@link #isReadOnly() read-only} bean or {@code null} to create
    *        a mutable bean.
@@ -220,13 +251,42 @@ public abstract class AbstractBean implements WritableBean {
     return getBeanProperties().get();
   }
 
+  @Override
+  public void writeProperties(StructuredWriter writer) {
+
+    onConstructed();
+    getBeanProperties().write(writer);
+  }
+
+  @Override
+  public void readProperties(StructuredReader reader, String propertyName) {
+
+    onConstructed();
+    if (!getBeanProperties().read(reader, propertyName)) {
+      WritableBean.super.readProperties(reader, propertyName);
+    }
+  }
+
   @Override
   public WritableProperty<?> getProperty(String name) {
 
-    // TODO move aliases to properties to avoid duplicate toLowercase overhead
+    // for static beans aliases are already resolved by the properties index
     WritableProperty<?> property = getBeanProperties().get(name);
     if (property == null) {
-      String resolvedAlias = this.aliases.getName(name);
+      String resolvedAlias = getAliases().getName(name);
+      if (resolvedAlias != null) {
+        property = getBeanProperties().get(resolvedAlias);
+      }
+    }
+    return property;
+  }
+
+  @Override
+  public WritableProperty<?> getProperty(PropertyHandle handle) {
+
+    WritableProperty<?> property = getBeanProperties().get(handle);
+    if (property == null) {
+      String resolvedAlias = getAliases().getName(handle.getName());
       if (resolvedAlias != null) {
         property = getBeanProperties().get(resolvedAlias);
       }
@@ -260,6 +320,41 @@ public abstract class AbstractBean implements WritableBean {
     return (P) add((WritableProperty) property, AddMode.NORMAL);
   }
 
+  /**
+   * Adds the given {@link WritableProperty properties} to this bean at once. Has the same effect as calling
+   * {@link #addProperty(WritableProperty)} for each of them but is more efficient when adding many properties.
+   *
+   * @param newProperties the {@link Collection} of {@link WritableProperty properties} to add.
+   * @throws IllegalStateException if this {@link WritableBean} is {@link #isReadOnly() read-only} or not
+   *         {@link #isDynamic() dynamic}.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public void addProperties(Collection<? extends WritableProperty<?>> newProperties) {
+
+    requireWritable();
+    requireDynamic();
+    List<WritableProperty<?>> list = new ArrayList<>(newProperties.size());
+    for (WritableProperty property : newProperties) {
+      if (!isLockOwnerInternal(property.getMetadata().getLock())) {
+        property = copyProperty(property);
+      }
+      list.add(property);
+    }
+    addAll(list);
+  }
+
+  private void addAll(List<WritableProperty<?>> newProperties) {
+
+    if (newProperties.isEmpty()) {
+      return;
+    }
+    getBeanProperties().addAll(newProperties);
+    this.properties = this.properties.optimize();
+    for (WritableProperty<?> property : newProperties) {
+      onPropertyAdded(property);
+    }
+  }
+
   /**
    * Internal method for {@link #addProperty(WritableProperty)}, without verification. Will be called from constructor
    * of bean class implementations to register properties.
@@ -307,6 +402,7 @@ public abstract class AbstractBean implements WritableBean {
         onPropertyAdded(property);
       }
     }
+    this.properties = this.properties.optimize();
     return property;
   }
 
@@ -366,7 +462,25 @@ public abstract class AbstractBean implements WritableBean {
   private void addAlias(String propertyName, String alias) {
 
     assert verifyAlias(alias);
-    this.aliases = this.aliases.add(propertyName, alias);
+    AbstractBeanAliasMap map = getAliasesInternal();
+    if (!propertyName.equals(map.getName(alias))) {
+      // alias not registered by the constructor or the type is not yet frozen: only add to this instance
+      this.aliases = map.add(propertyName, alias);
+    }
+  }
+
+  /**
+   * @return the {@link AbstractBeanAliasMap} of this instance or the frozen one of its {@link AbstractBeanType type}
+   *         if this instance has no own aliases. Before the {@link AbstractBeanType#freezeAliases(ReadableBean)
+   *         aliases are frozen} or for beans of other types each instance holds its own aliases.
+   */
+  private AbstractBeanAliasMap getAliasesInternal() {
+
+    AbstractBeanAliasMap map = this.aliases;
+    if ((map == BeanAliasMapEmpty.INSTANCE) && (getType() instanceof AbstractBeanType type)) {
+      return type.getAliases();
+    }
+    return map;
   }
 
   private boolean verifyAlias(String alias) {
@@ -396,7 +510,7 @@ public abstract class AbstractBean implements WritableBean {
   @Override
   public BeanAliasMap getAliases() {
 
-    return this.aliases;
+    return getAliasesInternal();
   }
 
   @Override
@@ -111,6 +111,13 @@ public abstract class AbstractVirtualBean extends AbstractBean implements Virtua
     return super.getProperty(name);
   }
 
+  @Override
+  public WritableProperty<?> getProperty(PropertyHandle handle) {
+
+    updateProperties();
+    return super.getProperty(handle);
+  }
+
   @Override
   public int getPropertyCount() {
 
@@ -10,7 +10,8 @@ import io.github.mmm.property.WritableProperty;
  * name}. It allows to {@link ReadableBean#getProperty(String) retrieve a property} not only via its primary
  * {@link ReadableProperty#getName() name} but also under one or multiple aliases. An alias could e.g. be a legacy name
  * after a {@link ReadableProperty property} has been renamed or to use a technical name containing special characters
- * (e.g. "@" or ".") for very specific cases.
+ * (e.g. "@" or ".") for very specific cases. Like {@link ReadableProperty#getName() property names} aliases are
+ * case-insensitive.
  */
 public interface BeanAliasMap {
 
@@ -24,4 +24,13 @@ public @interface BeanName {
    */
   String value();
 
+  /**
+   * @return the explicit type ID used as compact replacement of the {@link #value() stable name} by ID-based formats
+   *         (see {@link io.github.mmm.bean.mapping.ClassNameMapper#getTypeId(Class)}). Has to be unique and in the
+   *         range from {@code 1} to {@link io.github.mmm.bean.mapping.ClassNameMapper#MAX_EXPLICIT_TYPE_ID}. The
+   *         default {@code 0} means the ID is derived from the {@link #value() stable name}. Once used externally the
+   *         ID must not be changed.
+   */
+  int id() default 0;
+
 }
@@ -78,4 +78,15 @@ public interface BeanType {
    */
   MetaInfo getMetaInfo();
 
+  /**
+   * @param name the {@link io.github.mmm.property.ReadableProperty#getName() name} of the requested property.
+   * @return the {@link PropertyHandle} for fast access to the specified property via
+   *         {@link ReadableBean#getProperty(PropertyHandle)}. Resolve it once and reuse it for all instances of this
+   *         {@link BeanType}.
+   */
+  default PropertyHandle getPropertyHandle(String name) {
+
+    return PropertyHandle.of(name);
+  }
+
 }
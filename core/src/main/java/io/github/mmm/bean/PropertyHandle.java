@@ -0,0 +1,118 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.bean;
+
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+import io.github.mmm.property.ReadableProperty;
+
+/**
+ * A {@link PropertyHandle} is a pre-resolved reference to a {@link ReadableProperty property} of a {@link BeanType}.
+ * Resolve it once via {@link BeanType#getPropertyHandle(String)} and then use it for fast access via
+ * {@link ReadableBean#getProperty(PropertyHandle)} or {@link ReadableBean#get(PropertyHandle)} avoiding the lookup by
+ * {@link ReadableProperty#getName() name} on each access.<br>
+ * A {@link PropertyHandle} is always safe to use: If it does not match the {@link ReadableBean bean} it is used with
+ * (e.g. for a {@link ReadableBean#isDynamic() dynamic} bean or a bean of a different type), the lookup transparently
+ * falls back to {@link ReadableBean#getProperty(String)}. A handle that was created before the properties of its
+ * {@link BeanType} have been determined is resolved lazily on its first use afterwards.
+ *
+ * @since 1.0.0
+ */
+public final class PropertyHandle {
+
+  private final String name;
+
+  private final ToIntFunction<String> resolver;
+
+  private int index;
+
+  private PropertyHandle(String name, int index, ToIntFunction<String> resolver) {
+
+    super();
+    Objects.requireNonNull(name, "name");
+    this.name = name;
+    this.index = index;
+    this.resolver = resolver;
+  }
+
+  /**
+   * @return the {@link ReadableProperty#getName() property name}.
+   */
+  public String getName() {
+
+    return this.name;
+  }
+
+  /**
+   * @return the index of the {@link ReadableProperty property} in the internal storage of the {@link ReadableBean bean}
+   *         or {@code -1} if unresolved.
+   */
+  public int getIndex() {
+
+    int i = this.index;
+    if ((i < 0) && (this.resolver != null)) {
+      // race is harmless as the resolved index is always the same
+      i = this.resolver.applyAsInt(this.name);
+      this.index = i;
+    }
+    return i;
+  }
+
+  @Override
+  public int hashCode() {
+
+    return this.name.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+
+    if (obj == this) {
+      return true;
+    } else if ((obj == null) || (obj.getClass() != getClass())) {
+      return false;
+    }
+    PropertyHandle other = (PropertyHandle) obj;
+    return this.name.equals(other.name) && (getIndex() == other.getIndex());
+  }
+
+  @Override
+  public String toString() {
+
+    return this.name + "@" + getIndex();
+  }
+
+  /**
+   * @param name the {@link #getName() property name}.
+   * @return the unresolved {@link PropertyHandle} that will always lookup the {@link ReadableProperty property} by
+   *         {@link #getName() name}.
+   */
+  public static PropertyHandle of(String name) {
+
+    return new PropertyHandle(name, -1, null);
+  }
+
+  /**
+   * @param name the {@link #getName() property name}.
+   * @param index the {@link #getIndex() index}.
+   * @return the new {@link PropertyHandle}.
+   */
+  public static PropertyHandle of(String name, int index) {
+
+    return new PropertyHandle(name, index, null);
+  }
+
+  /**
+   * @param name the {@link #getName() property name}.
+   * @param resolver the {@link ToIntFunction} that resolves the {@link #getIndex() index} for the given {@code name}
+   *        or returns {@code -1} if it can not (yet) be resolved. It is called lazily until the index is resolved.
+   * @return the new {@link PropertyHandle} that is resolved lazily.
+   */
+  public static PropertyHandle of(String name, ToIntFunction<String> resolver) {
+
+    Objects.requireNonNull(resolver, "resolver");
+    return new PropertyHandle(name, -1, resolver);
+  }
+
+}
@@ -58,6 +58,16 @@ public interface ReadableBean extends Validatable, MarshallableObject, Attribute
    */
   ReadableProperty<?> getProperty(String name);
 
+  /**
+   * @param handle the {@link PropertyHandle} of the requested property.
+   * @return the requested {@link WritableProperty} or {@code null} if no such property exists.
+   * @see BeanType#getPropertyHandle(String)
+   */
+  default ReadableProperty<?> getProperty(PropertyHandle handle) {
+
+    return getProperty(handle.getName());
+  }
+
   /**
    * @return a {@link Collection} with all {@link ReadableProperty properties} of this bean.
    */
@@ -99,6 +109,24 @@ public interface ReadableBean extends Validatable, MarshallableObject, Attribute
     return (V) property.get();
   }
 
+  /**
+   * @param <V> type of the {@link ReadableProperty#get() property value}.
+   * @param handle the {@link PropertyHandle} of the requested property.
+   * @return the {@link ReadableProperty#get() value} of the {@link #getProperty(PropertyHandle) property with the given
+   *         handle}. Will be {@code null} if no such property exists or the {@link ReadableProperty#get() property
+   *         value} is {@code null}.
+   * @see BeanType#getPropertyHandle(String)
+   */
+  @SuppressWarnings("unchecked")
+  default <V> V get(PropertyHandle handle) {
+
+    ReadableProperty<?> property = getProperty(handle);
+    if (property == null) {
+      return null;
+    }
+    return (V) property.get();
+  }
+
   /**
    * @return the {@link BeanAliasMap} with potential aliases for {@link #getProperty(String) property}
    *         {@link ReadableProperty#getName() name}s.
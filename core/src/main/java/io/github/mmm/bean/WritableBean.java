@@ -5,6 +5,11 @@ package io.github.mmm.bean;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import io.github.mmm.base.exception.ObjectNotFoundException;
 import io.github.mmm.marshall.MarshallingObject;
@@ -27,6 +32,12 @@ public interface WritableBean extends ReadableBean, WritablePath, MarshallingObj
   @Override
   WritableProperty<?> getProperty(String name);
 
+  @Override
+  default WritableProperty<?> getProperty(PropertyHandle handle) {
+
+    return getProperty(handle.getName());
+  }
+
   @Override
   Collection<? extends WritableProperty<?>> getProperties();
 
@@ -161,46 +172,89 @@ public interface WritableBean extends ReadableBean, WritablePath, MarshallingObj
       return this;
     }
     WritableBean result = this;
-    int propertyCount = 0;
-    while (!reader.readEnd()) {
-      String propertyName = reader.readName();
-      if (StructuredReader.TYPE.equals(propertyName)) {
-        String type = reader.readValueAsString();
-        String stableName = getType().getStableName();
-        if (propertyCount > 0) {
-          propertyCount++; // 1-based index for human reader
-          throw new IllegalStateException("Property " + StructuredReader.TYPE + " of " + getType()
-              + " must come first but was " + propertyCount + ". property!");
+    String propertyName = reader.readName();
+    if (StructuredReader.TYPE.equals(propertyName)) {
+      Object type;
+      if (reader.getFormat().isIdBased()) {
+        // type ID or stable name if the bean has no type ID
+        type = reader.readValue();
+      } else {
+        type = reader.readValueAsString();
+      }
+      if (type instanceof Number typeId) {
+        // do not use import statement here to prevent early class-loading...
+        io.github.mmm.bean.mapping.ClassNameMapper mapper = io.github.mmm.bean.mapping.ClassNameMapper.get();
+        if (isPolymorphic()) {
+          Class beanClass = mapper.getClass(typeId.intValue());
+          result = BeanFactory.get().create(beanClass);
         } else {
-          if (isPolymorphic()) {
-            // do not use import statement here to prevent early class-loading...
-            Class beanClass = io.github.mmm.bean.mapping.ClassNameMapper.get().getClass(type);
-            result = BeanFactory.get().create(beanClass);
-          } else if (!type.equals(stableName)) {
-            throw new IllegalStateException(StructuredReader.TYPE + "=" + type + "!=" + stableName);
+          int expectedId = mapper.getTypeId(getType().getJavaClass());
+          if (typeId.intValue() != expectedId) {
+            throw new IllegalStateException(StructuredReader.TYPE + "=" + typeId + "!=" + expectedId);
           }
         }
+      } else if (type instanceof String typeName) {
+        String stableName = getType().getStableName();
+        if (isPolymorphic()) {
+          // do not use import statement here to prevent early class-loading...
+          Class beanClass = io.github.mmm.bean.mapping.ClassNameMapper.get().getClass(typeName);
+          result = BeanFactory.get().create(beanClass);
+        } else if (!typeName.equals(stableName)) {
+          throw new IllegalStateException(StructuredReader.TYPE + "=" + typeName + "!=" + stableName);
+        }
       } else {
-        WritableProperty<?> property = result.getProperty(propertyName);
-        if (property == null) {
-          if (isDynamic()) {
-            Object value = reader.readValue(true);
-            if (value != null) {
-              Class<? extends Object> valueClass = value.getClass();
-              property = createProperty(propertyName, valueClass);
-              ((WritableProperty) property).set(value);
-            }
-          } else {
-            // LOG.debug("ignoring undefined property {}.{}", getBeanClass(), propertyName);
-            reader.skipValue();
+        throw new IllegalStateException("Property " + StructuredReader.TYPE + " of " + getType()
+            + " must be a type ID or name but was " + type + "!");
+      }
+      if (reader.readEnd()) {
+        return result;
+      }
+      propertyName = reader.readName();
+    }
+    result.readProperties(reader, propertyName);
+    return result;
+  }
+
+  /**
+   * Reads the {@link #getProperties() properties} until the end of the object. Called by
+   * {@link #read(StructuredReader)} after the optional {@link StructuredReader#TYPE type}. Implementations may
+   * override to read the properties more efficiently.
+   *
+   * @param reader the {@link StructuredReader} to read from.
+   * @param propertyName the name of the first property that has already been {@link StructuredReader#readName() read}.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  default void readProperties(StructuredReader reader, String propertyName) {
+
+    String name = propertyName;
+    int propertyCount = 1;
+    while (true) {
+      if (StructuredReader.TYPE.equals(name)) {
+        throw new IllegalStateException("Property " + StructuredReader.TYPE + " of " + getType()
+            + " must come first but was " + propertyCount + ". property!");
+      }
+      WritableProperty<?> property = getProperty(name);
+      if (property == null) {
+        if (isDynamic()) {
+          Object value = reader.readValue(true);
+          if (value != null) {
+            Class<? extends Object> valueClass = value.getClass();
+            property = createProperty(name, valueClass);
+            ((WritableProperty) property).set(value);
           }
         } else {
-          property.readObject(reader);
+          // LOG.debug("ignoring undefined property {}.{}", getBeanClass(), name);
+          reader.skipValue();
         }
+      } else {
+        property.readObject(reader);
       }
+      if (reader.readEnd()) {
+        return;
+      }
+      name = reader.readName();
       propertyCount++;
     }
-    return result;
   }
 
   @Override
@@ -209,8 +263,31 @@ public interface WritableBean extends ReadableBean, WritablePath, MarshallingObj
     writer.writeStartObject(this);
     if (isPolymorphic()) {
       writer.writeName(StructuredWriter.TYPE);
-      writer.writeValueAsString(getType().getStableName());
+      int typeId = 0;
+      if (writer.getFormat().isIdBased()) {
+        // do not use import statement here to prevent early class-loading...
+        typeId = io.github.mmm.bean.mapping.ClassNameMapper.get().getTypeId(getType().getJavaClass());
+      }
+      if (typeId == 0) {
+        // not ID-based or no type ID as derived ID collides
+        writer.writeValueAsString(getType().getStableName());
+      } else {
+        writer.writeValueAsInteger(Integer.valueOf(typeId));
+      }
     }
+    writeProperties(writer);
+    writer.writeEnd();
+  }
+
+  /**
+   * Writes the non {@link ReadableProperty#isTransient() transient} {@link #getProperties() properties} with their
+   * names. Called by {@link #write(StructuredWriter)} between start and end of the object. Implementations may
+   * override to write the properties more efficiently.
+   *
+   * @param writer the {@link StructuredWriter} to write to.
+   */
+  default void writeProperties(StructuredWriter writer) {
+
     for (ReadableProperty<?> property : getProperties()) {
       if (!property.isTransient()) {
         String propertyName = property.getName();
@@ -218,7 +295,6 @@ public interface WritableBean extends ReadableBean, WritablePath, MarshallingObj
         property.writeObject(writer, property);
       }
     }
-    writer.writeEnd();
   }
 
   @Override
@@ -311,6 +387,99 @@ public interface WritableBean extends ReadableBean, WritablePath, MarshallingObj
     }
   }
 
+  /**
+   * Reads the array of {@link WritableBean beans} element by element and passes each bean to the given
+   * {@link Consumer}. Unlike {@link #readArray(WritableBean, StructuredReader)} the beans are not collected so the
+   * memory consumption is constant regardless of the size of the array.
+   *
+   * @param <B> type of the {@link WritableBean} to read.
+   * @param template an instance of the {@link WritableBean} to read acting as template.
+   * @param reader the {@link StructuredReader} to read the data from.
+   * @param consumer the {@link Consumer} {@link Consumer#accept(Object) accepting} each unmarshalled
+   *        {@link WritableBean bean}.
+   * @param reuse - {@code true} to reuse a single mutable instance for all elements (unless the element is
+   *        polymorphic or the bean is {@link #isDynamic() dynamic}), {@code false} otherwise. Only use {@code true}
+   *        if the {@link Consumer} does not keep references to the {@link WritableBean beans}.
+   */
+  static <B extends WritableBean> void readArray(B template, StructuredReader reader, Consumer<? super B> consumer,
+      boolean reuse) {
+
+    reader.require(StructuredState.START_ARRAY, true);
+    B reused = newReusable(template, reuse);
+    B pristine = ReadableBean.newInstance(reused);
+    while (!reader.readEndArray()) {
+      consumer.accept(readElement(template, reader, reused, pristine));
+    }
+  }
+
+  /**
+   * Creates a {@link Stream} that lazily reads the array of {@link WritableBean beans} element by element. Unlike
+   * {@link #readArray(WritableBean, StructuredReader)} the beans are not collected so the memory consumption is
+   * constant regardless of the size of the array. The {@link Stream} is sequential and may only be consumed once
+   * while the {@link StructuredReader} is not used otherwise.
+   *
+   * @param <B> type of the {@link WritableBean} to read.
+   * @param template an instance of the {@link WritableBean} to read acting as template.
+   * @param reader the {@link StructuredReader} to read the data from.
+   * @param reuse - {@code true} to reuse a single mutable instance for all elements (unless the element is
+   *        polymorphic or the bean is {@link #isDynamic() dynamic}), {@code false} otherwise. Only use {@code true}
+   *        if the caller does not keep references to the {@link WritableBean beans}.
+   * @return the {@link Stream} of the unmarshalled {@link WritableBean beans}.
+   */
+  static <B extends WritableBean> Stream<B> streamArray(B template, StructuredReader reader, boolean reuse) {
+
+    reader.require(StructuredState.START_ARRAY, true);
+    B reused = newReusable(template, reuse);
+    B pristine = ReadableBean.newInstance(reused);
+    Spliterator<B> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+        Spliterator.ORDERED | Spliterator.NONNULL) {
+
+      private boolean done;
+
+      @Override
+      public boolean tryAdvance(Consumer<? super B> action) {
+
+        if (this.done) {
+          return false;
+        } else if (reader.readEndArray()) {
+          this.done = true;
+          return false;
+        }
+        action.accept(readElement(template, reader, reused, pristine));
+        return true;
+      }
+    };
+    return StreamSupport.stream(spliterator, false);
+  }
+
+  private static <B extends WritableBean> B newReusable(B template, boolean reuse) {
+
+    if (!reuse || template.isDynamic()) {
+      return null;
+    }
+    return ReadableBean.newInstance(template);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <B extends WritableBean> B readElement(B template, StructuredReader reader, B reused, B pristine) {
+
+    B bean;
+    if (reused == null) {
+      bean = ReadableBean.newInstance(template);
+    } else {
+      reset(reused, pristine); // reset values from previous element
+      bean = reused;
+    }
+    return (B) bean.read(reader);
+  }
+
+  private static <B extends WritableBean> void reset(B bean, B pristine) {
+
+    if (!(bean instanceof AbstractBean abstractBean) || !abstractBean.reset((AbstractBean) pristine)) {
+      BeanHelper.copy(pristine, bean);
+    }
+  }
+
   /**
    * @param <B> type of the {@link WritableBean} to write.
    * @param beans the {@link Collection} with the {@link WritableBean beans} to write.
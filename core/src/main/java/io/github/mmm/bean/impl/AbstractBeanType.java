@@ -9,7 +9,10 @@ import io.github.mmm.bean.BeanName;
 import io.github.mmm.bean.BeanType;
 import io.github.mmm.bean.ReadableBean;
 import io.github.mmm.bean.WritableBean;
+import io.github.mmm.bean.impl.alias.AbstractBeanAliasMap;
+import io.github.mmm.bean.impl.alias.BeanAliasMapEmpty;
 import io.github.mmm.bean.impl.properties.BeanPropertiesFactory;
+import io.github.mmm.bean.mapping.ClassNameMapper;
 
 /**
  * Implementation of {@link BeanType}.
@@ -24,6 +27,9 @@ public abstract class AbstractBeanType implements BeanType, BeanPropertiesFactor
 
   private MetaInfo metaInfo;
 
+  /** The aliases shared by all beans or {@code null} if not yet {@link #freezeAliases(ReadableBean) frozen}. */
+  private volatile AbstractBeanAliasMap aliases;
+
   /**
    * The constructor.
    *
@@ -48,6 +54,7 @@ public abstract class AbstractBeanType implements BeanType, BeanPropertiesFactor
     super();
     this.javaClass = template.javaClass;
     this.stableName = template.stableName;
+    this.aliases = template.aliases;
   }
 
   /**
@@ -77,6 +84,46 @@ public abstract class AbstractBeanType implements BeanType, BeanPropertiesFactor
     }
   }
 
+  /**
+   * @param javaClass the {@link Class} reflecting the {@link WritableBean}.
+   * @return the stable type ID. Either the explicit {@link BeanName#id() ID} or derived from the
+   *         {@link #getStableName(Class) stable name}.
+   * @see io.github.mmm.bean.mapping.ClassNameMapper#getTypeId(Class)
+   */
+  public static int getStableTypeId(Class<?> javaClass) {
+
+    BeanName name = javaClass.getAnnotation(BeanName.class);
+    int id = 0;
+    if (name != null) {
+      id = name.id();
+    }
+    if (id == 0) {
+      return deriveTypeId(getStableName(javaClass));
+    } else if ((id < 0) || (id > ClassNameMapper.MAX_EXPLICIT_TYPE_ID)) {
+      throw new IllegalArgumentException("Explicit type ID " + id + " of " + javaClass.getName()
+          + " must be in the range from 1 to " + ClassNameMapper.MAX_EXPLICIT_TYPE_ID);
+    }
+    return id;
+  }
+
+  /**
+   * @param stableName the {@link #getStableName() stable name}.
+   * @return the type ID derived from the given {@code stableName}. It is computed via FNV-1a hash and therefore
+   *         deterministic (independent of JVM, class-loading or registration order). The result is always greater
+   *         than {@link ClassNameMapper#MAX_EXPLICIT_TYPE_ID} so it can not collide with explicit IDs and encodes in
+   *         at most four bytes as varint.
+   */
+  public static int deriveTypeId(String stableName) {
+
+    int hash = 0x811C9DC5;
+    int length = stableName.length();
+    for (int i = 0; i < length; i++) {
+      hash = (hash ^ stableName.charAt(i)) * 0x01000193;
+    }
+    int range = ClassNameMapper.MAX_DERIVED_TYPE_ID - ClassNameMapper.MAX_EXPLICIT_TYPE_ID;
+    return ClassNameMapper.MAX_EXPLICIT_TYPE_ID + 1 + Integer.remainderUnsigned(hash, range);
+  }
+
   @Override
   public Class<? extends WritableBean> getJavaClass() {
 
@@ -130,6 +177,43 @@ public abstract class AbstractBeanType implements BeanType, BeanPropertiesFactor
     return this.metaInfo;
   }
 
+  /**
+   * @return the {@link AbstractBeanAliasMap} with the aliases shared by all beans of this type. Will be
+   *         {@link BeanAliasMapEmpty empty} until {@link #freezeAliases(ReadableBean) frozen}.
+   * @see io.github.mmm.bean.ReadableBean#getAliases()
+   */
+  public AbstractBeanAliasMap getAliases() {
+
+    AbstractBeanAliasMap map = this.aliases;
+    if (map == null) {
+      return BeanAliasMapEmpty.INSTANCE;
+    }
+    return map;
+  }
+
+  /**
+   * @return {@code true} if the {@link #getAliases() aliases} have been {@link #freezeAliases(ReadableBean) frozen},
+   *         {@code false} otherwise.
+   */
+  public boolean isAliasesFrozen() {
+
+    return this.aliases != null;
+  }
+
+  /**
+   * Freezes the {@link #getAliases() aliases} of this type from the given fully constructed bean so they are shared
+   * by all further beans of this type. Has no effect if already frozen.
+   *
+   * @param bean the fully constructed {@link ReadableBean} of this type with the aliases registered by its
+   *        constructor.
+   */
+  public void freezeAliases(ReadableBean bean) {
+
+    if ((this.aliases == null) && (bean.getAliases() instanceof AbstractBeanAliasMap map)) {
+      this.aliases = map;
+    }
+  }
+
   @Override
   public int hashCode() {
 
@@ -2,9 +2,20 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.bean.impl;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import io.github.mmm.bean.AbstractBean;
 import io.github.mmm.bean.BeanClass;
@@ -19,8 +30,19 @@ import io.github.mmm.bean.WritableBean;
  */
 public final class BeanClassCreator implements BeanCreator {
 
+  private static final Logger LOG = LoggerFactory.getLogger(BeanClassCreator.class);
+
   private static final Class<?>[] CONSTRUCTOR_SIGNATURE = new Class<?>[] { WritableBean.class };
 
+  private static final ClassValue<BeanConstructor> CONSTRUCTORS = new ClassValue<>() {
+
+    @Override
+    protected BeanConstructor computeValue(Class<?> type) {
+
+      return new BeanConstructor(type);
+    }
+  };
+
   private final Map<Class<?>, WritableBean> type2emptyMap;
 
   /**
@@ -58,17 +80,7 @@ public final class BeanClassCreator implements BeanCreator {
   public static <B extends AbstractBean> B doCreate(Class<B> type, WritableBean writable)
       throws ReflectiveOperationException {
 
-    Constructor<? extends AbstractBean> constructor;
-    try {
-      constructor = type.getConstructor(CONSTRUCTOR_SIGNATURE);
-      return (B) constructor.newInstance(writable);
-    } catch (NoSuchMethodException e) {
-      if (writable == null) {
-        constructor = type.getConstructor();
-        return (B) constructor.newInstance();
-      }
-      throw e;
-    }
+    return (B) CONSTRUCTORS.get(type).create(writable);
   }
 
   @Override
@@ -85,4 +97,136 @@ public final class BeanClassCreator implements BeanCreator {
 
     return create(type).getReadOnly();
   }
+
+  /**
+   * Cached constructor of a {@link AbstractBean} implementation. Resolves the constructor only once and avoids
+   * reflection for the instantiation by converting it to a {@link Function} via {@link LambdaMetafactory} if possible.
+   */
+  private static final class BeanConstructor {
+
+    private final Class<?> type;
+
+    /** {@link Function} for the constructor with {@link WritableBean} argument or {@code null} if not available. */
+    private final Function<WritableBean, AbstractBean> function;
+
+    /** {@link Function} for the constructor without arguments or {@code null} if not available. */
+    private final Function<WritableBean, AbstractBean> defaultFunction;
+
+    private BeanConstructor(Class<?> type) {
+
+      super();
+      this.type = type;
+      this.function = createFunction(type, CONSTRUCTOR_SIGNATURE);
+      if (this.function == null) {
+        this.defaultFunction = createFunction(type);
+      } else {
+        this.defaultFunction = null;
+      }
+    }
+
+    private AbstractBean create(WritableBean writable) throws ReflectiveOperationException {
+
+      if (this.function != null) {
+        return this.function.apply(writable);
+      } else if ((writable == null) && (this.defaultFunction != null)) {
+        return this.defaultFunction.apply(null);
+      }
+      // will throw NoSuchMethodException or the according access error
+      if (writable == null) {
+        return (AbstractBean) this.type.getConstructor().newInstance();
+      }
+      return (AbstractBean) this.type.getConstructor(CONSTRUCTOR_SIGNATURE).newInstance(writable);
+    }
+
+    private static Function<WritableBean, AbstractBean> createFunction(Class<?> type, Class<?>... signature) {
+
+      Constructor<?> constructor;
+      try {
+        constructor = type.getConstructor(signature);
+      } catch (NoSuchMethodException e) {
+        return null;
+      }
+      try {
+        Module module = BeanClassCreator.class.getModule();
+        if (!module.canRead(type.getModule())) {
+          module.addReads(type.getModule());
+        }
+        Lookup lookup = MethodHandles.lookup();
+        MethodHandle handle = lookup.unreflectConstructor(constructor);
+        if (isVisible(type)) {
+          return createLambda(lookup, handle, signature.length > 0);
+        }
+        MethodHandle genericHandle;
+        if (signature.length == 0) {
+          genericHandle = MethodHandles.dropArguments(handle, 0, WritableBean.class);
+        } else {
+          genericHandle = handle;
+        }
+        MethodHandle invoker = genericHandle.asType(MethodType.methodType(AbstractBean.class, WritableBean.class));
+        return writable -> invoke(invoker, writable);
+      } catch (Throwable e) {
+        LOG.debug("Falling back to reflection to create bean {}", type, e);
+        return writable -> newInstance(constructor, writable);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<WritableBean, AbstractBean> createLambda(Lookup lookup, MethodHandle handle,
+        boolean withArgument) throws Throwable {
+
+      Class<?> type = handle.type().returnType();
+      if (withArgument) {
+        CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+            MethodType.methodType(Object.class, Object.class), handle,
+            MethodType.methodType(type, WritableBean.class));
+        return (Function<WritableBean, AbstractBean>) site.getTarget().invoke();
+      } else {
+        CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+            MethodType.methodType(Object.class), handle, MethodType.methodType(type));
+        Supplier<AbstractBean> supplier = (Supplier<AbstractBean>) site.getTarget().invoke();
+        return writable -> supplier.get();
+      }
+    }
+
+    /**
+     * @param type the {@link Class} to check.
+     * @return {@code true} if the given {@link Class} can be resolved by the {@link ClassLoader} of this class so it
+     *         can be referenced from the class spun by {@link LambdaMetafactory}, {@code false} otherwise.
+     */
+    private static boolean isVisible(Class<?> type) {
+
+      if (type.isHidden()) {
+        return false;
+      }
+      try {
+        return Class.forName(type.getName(), false, BeanClassCreator.class.getClassLoader()) == type;
+      } catch (ClassNotFoundException | LinkageError e) {
+        return false;
+      }
+    }
+
+    private static AbstractBean invoke(MethodHandle invoker, WritableBean writable) {
+
+      try {
+        return (AbstractBean) invoker.invokeExact(writable);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    private static AbstractBean newInstance(Constructor<?> constructor, WritableBean writable) {
+
+      try {
+        if (constructor.getParameterCount() == 0) {
+          return (AbstractBean) constructor.newInstance();
+        }
+        return (AbstractBean) constructor.newInstance(writable);
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
 }
@@ -16,6 +16,7 @@ import io.github.mmm.bean.Bean;
 import io.github.mmm.bean.BeanClass;
 import io.github.mmm.bean.VirtualBean;
 import io.github.mmm.bean.impl.properties.BeanProperties;
+import io.github.mmm.bean.impl.properties.BeanPropertiesCopyOnWrite;
 import io.github.mmm.bean.impl.properties.BeanPropertiesMap;
 
 /**
@@ -23,7 +24,10 @@ import io.github.mmm.bean.impl.properties.BeanPropertiesMap;
  */
 public final class BeanClassImpl extends AbstractBeanType implements BeanClass {
 
-  private static final Map<String, BeanClassImpl> CLASS_MAP = new ConcurrentHashMap<>();
+  private static final BeanTypeMap<BeanClassImpl> CLASS_MAP = new BeanTypeMap<>();
+
+  /** Explicit registry of the {@link #isVirtual() virtual} classes by their {@link #getQualifiedName() name}. */
+  private static final Map<String, BeanClassImpl> VIRTUAL_MAP = new ConcurrentHashMap<>();
 
   private final List<BeanClassImpl> superClassList;
 
@@ -133,6 +137,9 @@ public final class BeanClassImpl extends AbstractBeanType implements BeanClass {
       this.javaClasses = classes.toArray(new Class<?>[classes.size()]);
     }
     this.virtual = virtual;
+    if (virtual) {
+      VIRTUAL_MAP.put(this.qualifiedName, this);
+    }
   }
 
   @SuppressWarnings("unchecked")
@@ -201,7 +208,10 @@ public final class BeanClassImpl extends AbstractBeanType implements BeanClass {
   public BeanProperties create(AbstractBean bean) {
 
     boolean threadSafe = BeanAccessor.isThreadSafe(bean);
-    return new BeanPropertiesMap(threadSafe);
+    if (threadSafe) {
+      return new BeanPropertiesCopyOnWrite();
+    }
+    return new BeanPropertiesMap(false);
   }
 
   /**
@@ -214,12 +224,21 @@ public final class BeanClassImpl extends AbstractBeanType implements BeanClass {
   }
 
   /**
-   * @param key the fully-qualified (virtual or physical) class-name.
-   * @return the {@link BeanClass} for this instance.
+   * @param key the fully-qualified {@link #isVirtual() virtual} class-name.
+   * @return the {@link BeanClass} for this instance or {@code null} if no such virtual {@link BeanClass} exists.
    */
   public static BeanClassImpl getClass(String key) {
 
-    return CLASS_MAP.get(key);
+    return VIRTUAL_MAP.get(key);
+  }
+
+  /**
+   * @param javaClass the {@link Class} reflecting the {@link VirtualBean}.
+   * @return the {@link BeanClass} for this instance or {@code null} if not yet created.
+   */
+  public static BeanClassImpl getClass(Class<? extends VirtualBean> javaClass) {
+
+    return CLASS_MAP.get(javaClass);
   }
 
   /**
@@ -230,8 +249,7 @@ public final class BeanClassImpl extends AbstractBeanType implements BeanClass {
   public static BeanClassImpl asClass(Class<? extends VirtualBean> javaClass,
       Function<Class<?>, BeanClassImpl> factory) {
 
-    String key = javaClass.getName();
-    return CLASS_MAP.computeIfAbsent(key, (x) -> createBeanClass(javaClass, factory));
+    return CLASS_MAP.computeIfAbsent(javaClass, (x) -> createBeanClass(javaClass, factory));
   }
 
   private static BeanClassImpl createBeanClass(Class<? extends VirtualBean> javaClass,
@@ -268,7 +286,7 @@ public final class BeanClassImpl extends AbstractBeanType implements BeanClass {
    */
   private static BeanClassImpl getBeanClass(Class<?> javaClass) {
 
-    BeanClassImpl beanClass = CLASS_MAP.get(javaClass.getName());
+    BeanClassImpl beanClass = CLASS_MAP.get(javaClass);
     if (beanClass == null) {
       throw new IllegalStateException(
           "Super-class " + javaClass + " not registered! It seems you forgot to declare a static prototype instance.");
@@ -23,10 +23,21 @@ public final class BeanFactoryManager implements BeanFactory {
 
   private final List<BeanCreator> delegates;
 
+  /** Cache with the {@link BeanCreator} resolved for a bean type. */
+  private final ClassValue<ResolvedCreator> creatorCache;
+
   private BeanFactoryManager() {
 
     super();
     this.delegates = new ArrayList<>();
+    this.creatorCache = new ClassValue<>() {
+
+      @Override
+      protected ResolvedCreator computeValue(Class<?> type) {
+
+        return new ResolvedCreator();
+      }
+    };
     ServiceLoader<BeanCreator> loader = ServiceLoader.load(BeanCreator.class);
     ServiceHelper.all(loader, this.delegates);
   }
@@ -36,9 +47,23 @@ public final class BeanFactoryManager implements BeanFactory {
 
     Objects.requireNonNull(type, "type");
     try {
+      ResolvedCreator resolved = null;
+      if (beanClass == null) {
+        resolved = this.creatorCache.get(type);
+        BeanCreator creator = resolved.creator;
+        if (creator != null) {
+          B bean = creator.create(type, null);
+          if (bean != null) {
+            return bean;
+          }
+        }
+      }
       for (BeanCreator creator : this.delegates) {
         B bean = creator.create(type, beanClass);
         if (bean != null) {
+          if (resolved != null) {
+            resolved.creator = creator;
+          }
           return bean;
         }
       }
@@ -53,9 +78,18 @@ public final class BeanFactoryManager implements BeanFactory {
 
     Objects.requireNonNull(type, "type");
     try {
+      ResolvedCreator resolved = this.creatorCache.get(type);
+      BeanCreator emptyCreator = resolved.emptyCreator;
+      if (emptyCreator != null) {
+        B bean = emptyCreator.getEmpty(type);
+        if (bean != null) {
+          return bean;
+        }
+      }
       for (BeanCreator creator : this.delegates) {
         B bean = creator.getEmpty(type);
         if (bean != null) {
+          resolved.emptyCreator = creator;
           return bean;
         }
       }
@@ -75,4 +109,16 @@ public final class BeanFactoryManager implements BeanFactory {
     throw new IllegalStateException(message);
   }
 
+  /**
+   * The {@link BeanCreator}s resolved for a bean type.
+   */
+  private static final class ResolvedCreator {
+
+    /** The {@link BeanCreator} for {@link BeanFactory#create(Class)} or {@code null} if not yet resolved. */
+    private volatile BeanCreator creator;
+
+    /** The {@link BeanCreator} for {@link BeanFactory#getEmpty(Class)} or {@code null} if not yet resolved. */
+    private volatile BeanCreator emptyCreator;
+  }
+
 }
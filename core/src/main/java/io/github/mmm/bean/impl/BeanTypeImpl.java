@@ -2,16 +2,18 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.bean.impl;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import io.github.mmm.bean.AbstractBean;
 import io.github.mmm.bean.BeanType;
+import io.github.mmm.bean.PropertyHandle;
 import io.github.mmm.bean.ReadableBean;
 import io.github.mmm.bean.WritableBean;
 import io.github.mmm.bean.impl.properties.BeanProperties;
+import io.github.mmm.bean.impl.properties.BeanPropertiesCopyOnWrite;
 import io.github.mmm.bean.impl.properties.BeanPropertiesDynamicArray;
-import io.github.mmm.bean.impl.properties.BeanPropertiesMap;
+import io.github.mmm.bean.impl.properties.BeanPropertiesDynamicHash;
 import io.github.mmm.bean.impl.properties.BeanPropertiesStaticArray;
 import io.github.mmm.bean.impl.properties.BeanPropertyNames;
 
@@ -22,11 +24,19 @@ import io.github.mmm.bean.impl.properties.BeanPropertyNames;
  */
 public class BeanTypeImpl extends AbstractBeanType {
 
-  private static final Map<String, BeanTypeImpl> CLASS_MAP = new ConcurrentHashMap<>();
+  private static final AtomicReferenceFieldUpdater<BeanTypeImpl, BeanTypeSchema> SCHEMA_UPDATER = //
+      AtomicReferenceFieldUpdater.newUpdater(BeanTypeImpl.class, BeanTypeSchema.class, "schema");
 
-  private BeanPropertyNames propertyNames;
+  private static final BeanTypeMap<BeanTypeImpl> TYPE_MAP = new BeanTypeMap<>();
 
-  private BeanProperties properties;
+  /** The frozen {@link BeanTypeSchema} or {@code null} if not yet frozen or not available. */
+  private volatile BeanTypeSchema schema;
+
+  /** The first static instance to {@link #onConstructed(AbstractBean) freeze} the schema from. */
+  private volatile FirstInstance firstInstance;
+
+  /** The {@link BeanProperties} of the first dynamic instance used to estimate the capacity. */
+  private volatile BeanProperties dynamicProperties;
 
   /**
    * The constructor.
@@ -53,32 +63,115 @@ public class BeanTypeImpl extends AbstractBeanType {
   @Override
   public BeanProperties create(AbstractBean bean) {
 
-    boolean threadSafe = BeanAccessor.isThreadSafe(bean);
     boolean dynamic = bean.isDynamic();
-    BeanProperties result;
-    if (!dynamic && this.properties != null) {
-      if (this.propertyNames == null) {
-        this.propertyNames = this.properties.createNames();
+    if (!dynamic) {
+      BeanTypeSchema frozenSchema = getSchema();
+      if (frozenSchema == null) {
+        frozenSchema = freezeFromFirstInstance(bean);
       }
-      result = new BeanPropertiesStaticArray(this.propertyNames);
-    } else {
-      if (threadSafe) {
-        return new BeanPropertiesMap(true);
-      } else {
-        int capacity = 8;
-        if (this.properties != null) {
-          capacity = this.properties.get().size() + 2;
-        }
-        result = new BeanPropertiesDynamicArray(capacity);
-      }
-      if (this.properties == null) {
-        // store for prototype (first instance)
-        this.properties = result;
+      if (frozenSchema != null) {
+        return new BeanPropertiesStaticArray(frozenSchema.getNames(), frozenSchema.getWritePlan(),
+            frozenSchema.getReadPlan());
       }
     }
+    boolean threadSafe = BeanAccessor.isThreadSafe(bean);
+    if (threadSafe) {
+      return new BeanPropertiesCopyOnWrite();
+    }
+    BeanProperties result;
+    BeanProperties prototypeProperties = this.dynamicProperties;
+    int capacity = 8;
+    if (prototypeProperties != null) {
+      capacity = prototypeProperties.get().size() + 2;
+    }
+    if (capacity > BeanPropertiesDynamicHash.THRESHOLD) {
+      result = new BeanPropertiesDynamicHash(capacity);
+    } else {
+      result = new BeanPropertiesDynamicArray(capacity);
+    }
+    if (dynamic && (prototypeProperties == null)) {
+      // store for prototype (first instance)
+      this.dynamicProperties = result;
+    }
     return result;
   }
 
+  /**
+   * A static bean is only fully constructed after the constructor of its subclass has added all properties. Therefore
+   * the schema can not be frozen from the bean currently created. Instead the first instance is remembered together
+   * with the {@link Thread} constructing it. When the same {@link Thread} creates the next instance, the constructor
+   * of the first instance has completed and the schema is frozen from it. Other threads wait for a
+   * {@link #onConstructed(AbstractBean) completed} instance as the first one may still be under construction.
+   *
+   * @param bean the {@link AbstractBean} currently created.
+   * @return the frozen {@link BeanTypeSchema} or {@code null} if not available.
+   */
+  private BeanTypeSchema freezeFromFirstInstance(AbstractBean bean) {
+
+    Thread thread = Thread.currentThread();
+    FirstInstance first = this.firstInstance;
+    if (first == null) {
+      this.firstInstance = new FirstInstance(bean, thread);
+      return null;
+    } else if (first.thread != thread) {
+      return null;
+    }
+    AbstractBean firstBean = first.get();
+    if ((firstBean == null) || (firstBean == bean)) {
+      this.firstInstance = new FirstInstance(bean, thread);
+      return null;
+    }
+    onConstructed(firstBean);
+    return this.schema;
+  }
+
+  @Override
+  public PropertyHandle getPropertyHandle(String name) {
+
+    BeanTypeSchema frozenSchema = getSchema();
+    if (frozenSchema != null) {
+      BeanPropertyNames names = frozenSchema.getNames();
+      int index = names.indexOf(name);
+      if (index >= 0) {
+        return PropertyHandle.of(names.getName(index), index);
+      }
+      return PropertyHandle.of(name);
+    }
+    // handles are typically cached so resolve them once the schema has been frozen
+    return PropertyHandle.of(name, this::getPropertyIndex);
+  }
+
+  private int getPropertyIndex(String name) {
+
+    BeanTypeSchema frozenSchema = getSchema();
+    if (frozenSchema == null) {
+      return -1;
+    }
+    return frozenSchema.getNames().indexOf(name);
+  }
+
+  /**
+   * @return the {@link BeanTypeSchema} of this type or {@code null} if this type is {@link AbstractBean#isDynamic()
+   *         dynamic} or not yet {@link #onConstructed(AbstractBean) frozen}.
+   */
+  public BeanTypeSchema getSchema() {
+
+    return this.schema;
+  }
+
+  @SuppressWarnings("exports")
+  @Override
+  public void onConstructed(AbstractBean bean) {
+
+    if ((this.schema != null) || bean.isDynamic() || bean.isReadOnly()) {
+      return;
+    }
+    // only static beans share their aliases via the type, dynamic beans may also register aliases at runtime
+    freezeAliases(bean);
+    SCHEMA_UPDATER.compareAndSet(this, null, new BeanTypeSchema(this, bean.getProperties(), getAliases()));
+    this.firstInstance = null;
+  }
+
   /**
    * @param javaClass the {@link #getJavaClass() java class}.
    * @return the {@link BeanType} representing the given {@link Class}.
@@ -98,6 +191,18 @@ public class BeanTypeImpl extends AbstractBeanType {
     if (javaClass == null) {
       return null;
     }
-    return CLASS_MAP.computeIfAbsent(javaClass.getName(), (x) -> new BeanTypeImpl(javaClass, stableName));
+    return TYPE_MAP.computeIfAbsent(javaClass, (x) -> new BeanTypeImpl(javaClass, stableName));
+  }
+
+  private static final class FirstInstance extends WeakReference<AbstractBean> {
+
+    private final Thread thread;
+
+    private FirstInstance(AbstractBean bean, Thread thread) {
+
+      super(bean);
+      this.thread = thread;
+    }
   }
+
 }
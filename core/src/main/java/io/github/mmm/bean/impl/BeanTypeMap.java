@@ -0,0 +1,70 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.bean.impl;
+
+import java.util.function.Function;
+
+/**
+ * Map from a Java {@link Class} to its {@link AbstractBeanType} based on {@link ClassValue}. Unlike a map keyed by
+ * {@link Class#getName() class name} a lookup does not need to hash a {@link String}, classes with the same name from
+ * different {@link ClassLoader}s do not collide and the mapping does not prevent a {@link ClassLoader} from being
+ * unloaded.
+ *
+ * @param <T> type of the mapped {@link AbstractBeanType}.
+ */
+final class BeanTypeMap<T extends AbstractBeanType> {
+
+  private final ClassValue<Entry<T>> entries;
+
+  /**
+   * The constructor.
+   */
+  BeanTypeMap() {
+
+    super();
+    this.entries = new ClassValue<>() {
+      @Override
+      protected Entry<T> computeValue(Class<?> type) {
+
+        return new Entry<>();
+      }
+    };
+  }
+
+  /**
+   * @param javaClass the Java {@link Class}.
+   * @return the mapped {@link AbstractBeanType} or {@code null} if not yet created.
+   */
+  T get(Class<?> javaClass) {
+
+    return this.entries.get(javaClass).type;
+  }
+
+  /**
+   * @param javaClass the Java {@link Class}.
+   * @param factory the {@link Function} to create the {@link AbstractBeanType} if not yet mapped. May recursively call
+   *        this method for other classes (e.g. super-classes).
+   * @return the mapped {@link AbstractBeanType}.
+   */
+  T computeIfAbsent(Class<?> javaClass, Function<Class<?>, T> factory) {
+
+    Entry<T> entry = this.entries.get(javaClass);
+    T type = entry.type;
+    if (type == null) {
+      synchronized (entry) {
+        type = entry.type;
+        if (type == null) {
+          type = factory.apply(javaClass);
+          entry.type = type;
+        }
+      }
+    }
+    return type;
+  }
+
+  private static final class Entry<T> {
+
+    private volatile T type;
+  }
+
+}
@@ -0,0 +1,87 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.bean.impl;
+
+import java.util.Collection;
+
+import io.github.mmm.bean.BeanAliasMap;
+import io.github.mmm.bean.BeanType;
+import io.github.mmm.bean.impl.properties.BeanPropertyNames;
+import io.github.mmm.bean.impl.properties.BeanPropertyNamesArray;
+import io.github.mmm.bean.impl.properties.BeanReadPlan;
+import io.github.mmm.bean.impl.properties.BeanWritePlan;
+import io.github.mmm.property.WritableProperty;
+
+/**
+ * Immutable schema of a static (non {@link io.github.mmm.bean.ReadableBean#isDynamic() dynamic}) {@link BeanTypeImpl
+ * bean type}. It captures the {@link #getNames() names} and the transient flags of the properties once from a fully
+ * constructed instance so it can be safely shared between threads.
+ *
+ * @see BeanTypeImpl#getSchema()
+ */
+public final class BeanTypeSchema {
+
+  private final BeanPropertyNames names;
+
+  private final BeanWritePlan writePlan;
+
+  private final BeanReadPlan readPlan;
+
+  /**
+   * The constructor.
+   *
+   * @param type the {@link BeanType} owning this schema.
+   * @param properties the {@link WritableProperty properties} of a fully constructed instance.
+   * @param aliases the {@link BeanAliasMap} of the {@link BeanTypeImpl bean type}.
+   */
+  BeanTypeSchema(BeanType type, Collection<? extends WritableProperty<?>> properties, BeanAliasMap aliases) {
+
+    super();
+    int size = properties.size();
+    String[] propertyNames = new String[size];
+    boolean[] transients = new boolean[size];
+    int i = 0;
+    for (WritableProperty<?> property : properties) {
+      propertyNames[i] = property.getName();
+      transients[i] = property.isTransient();
+      i++;
+    }
+    this.names = new BeanPropertyNamesArray(propertyNames, aliases);
+    this.writePlan = new BeanWritePlan(this.names, transients);
+    this.readPlan = new BeanReadPlan(type, this.writePlan, size);
+  }
+
+  /**
+   * @return the {@link BeanPropertyNames} with the names of the properties in the order of their slots.
+   */
+  public BeanPropertyNames getNames() {
+
+    return this.names;
+  }
+
+  /**
+   * @return the {@link BeanWritePlan} to write the non transient properties.
+   */
+  public BeanWritePlan getWritePlan() {
+
+    return this.writePlan;
+  }
+
+  /**
+   * @return the {@link BeanReadPlan} to read the properties in the order predicted by the {@link #getWritePlan() write
+   *         plan}.
+   */
+  public BeanReadPlan getReadPlan() {
+
+    return this.readPlan;
+  }
+
+  /**
+   * @return the number of properties.
+   */
+  public int size() {
+
+    return this.names.size();
+  }
+
+}
@@ -3,14 +3,16 @@ package io.github.mmm.bean.impl.alias;
 import io.github.mmm.bean.BeanAliasMap;
 
 /**
- * Abstract base implementation of {@link BeanAliasMap}.
+ * Abstract base implementation of {@link BeanAliasMap}. Implementations are immutable so they can be shared by all
+ * instances of a {@link io.github.mmm.bean.BeanType}.
  */
 public abstract class AbstractBeanAliasMap implements BeanAliasMap {
 
   /**
    * @param name the primary {@link io.github.mmm.property.ReadableProperty#getName() property name}.
    * @param alias the {@link #getName(String) alias mapping} for the given {@code name}.
-   * @return the {@link AbstractBeanAliasMap} with the given mapping added.
+   * @return the {@link AbstractBeanAliasMap} with the given mapping added. Will be a new instance unless the mapping
+   *         was already present.
    */
   public abstract AbstractBeanAliasMap add(String name, String alias);
 
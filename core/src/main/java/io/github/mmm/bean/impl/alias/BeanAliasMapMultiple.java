@@ -1,10 +1,9 @@
 package io.github.mmm.bean.impl.alias;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,15 +11,18 @@ import org.slf4j.LoggerFactory;
 import io.github.mmm.bean.BeanAliasMap;
 
 /**
- * Implementation of {@link BeanAliasMap} that has a multiple mappings.
+ * Implementation of {@link BeanAliasMap} that has a multiple mappings. It is immutable and stores the mappings in
+ * compact arrays sorted case-insensitive by alias. Therefore {@link #add(String, String)} returns a new instance.
  */
 public class BeanAliasMapMultiple extends AbstractBeanAliasMap {
 
   private static final Logger LOG = LoggerFactory.getLogger(BeanAliasMapMultiple.class);
 
-  private final Map<String, String> alias2nameMap;
+  /** The aliases in case-insensitive sorted order. */
+  private final String[] aliases;
 
-  private final Map<String, List<String>> aliasesMap;
+  /** The property names of the {@link #aliases} at the same index. */
+  private final String[] names;
 
   /**
    * The constructor.
@@ -30,53 +32,86 @@ public class BeanAliasMapMultiple extends AbstractBeanAliasMap {
    */
   public BeanAliasMapMultiple(String name, String alias) {
 
-    super();
-    this.alias2nameMap = new HashMap<>();
-    this.aliasesMap = new HashMap<>();
-    register(name, alias);
+    this(new String[] { alias }, new String[] { name });
   }
 
-  private void register(String name, String alias) {
+  private BeanAliasMapMultiple(String[] aliases, String[] names) {
 
-    String duplicate = this.alias2nameMap.put(alias, name);
-    if (duplicate != null) {
-      LOG.error("Duplicate alias '{}' for name '{}' and '{}'.", alias, duplicate, name);
-      if (name.equals(duplicate)) {
-        return;
-      }
-    }
-    List<String> aliases = this.aliasesMap.computeIfAbsent(name, x -> new ArrayList<>());
-    aliases.add(alias);
+    super();
+    this.aliases = aliases;
+    this.names = names;
   }
 
   @Override
   public String getName(String alias) {
 
-    return this.alias2nameMap.get(alias);
+    int index = Arrays.binarySearch(this.aliases, alias, String.CASE_INSENSITIVE_ORDER);
+    if (index < 0) {
+      return null;
+    }
+    return this.names[index];
   }
 
   @Override
   public List<String> getAliases(String name) {
 
-    List<String> aliases = this.aliasesMap.get(name);
-    if (aliases == null) {
+    List<String> result = null;
+    for (int i = 0; i < this.names.length; i++) {
+      if (this.names[i].equalsIgnoreCase(name)) {
+        if (result == null) {
+          result = new ArrayList<>(2);
+        }
+        result.add(this.aliases[i]);
+      }
+    }
+    if (result == null) {
       return Collections.emptyList();
     } else {
-      return Collections.unmodifiableList(aliases);
+      return Collections.unmodifiableList(result);
     }
   }
 
   @Override
   public AbstractBeanAliasMap add(String name, String alias) {
 
-    register(name, alias);
-    return this;
+    int index = Arrays.binarySearch(this.aliases, alias, String.CASE_INSENSITIVE_ORDER);
+    if (index >= 0) {
+      String duplicate = this.names[index];
+      if (name.equals(duplicate)) {
+        return this;
+      }
+      LOG.error("Duplicate alias '{}' for name '{}' and '{}'.", alias, duplicate, name);
+      String[] newNames = this.names.clone();
+      newNames[index] = name;
+      return new BeanAliasMapMultiple(this.aliases, newNames);
+    }
+    index = ~index;
+    int length = this.aliases.length;
+    String[] newAliases = new String[length + 1];
+    String[] newNames = new String[length + 1];
+    System.arraycopy(this.aliases, 0, newAliases, 0, index);
+    System.arraycopy(this.names, 0, newNames, 0, index);
+    newAliases[index] = alias;
+    newNames[index] = name;
+    System.arraycopy(this.aliases, index, newAliases, index + 1, length - index);
+    System.arraycopy(this.names, index, newNames, index + 1, length - index);
+    return new BeanAliasMapMultiple(newAliases, newNames);
   }
 
   @Override
   public String toString() {
 
-    return "Aliases: " + this.aliasesMap;
+    StringBuilder sb = new StringBuilder("Aliases: {");
+    for (int i = 0; i < this.aliases.length; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(this.aliases[i]);
+      sb.append("->");
+      sb.append(this.names[i]);
+    }
+    sb.append('}');
+    return sb.toString();
   }
 
 }
@@ -6,7 +6,7 @@ import java.util.List;
 import io.github.mmm.bean.BeanAliasMap;
 
 /**
- * Implementation of {@link BeanAliasMap} that has a single mapping.
+ * Implementation of {@link BeanAliasMap} that has a single mapping. It is immutable.
  */
 public class BeanAliasMapSingle extends AbstractBeanAliasMap {
 
@@ -33,7 +33,7 @@ public class BeanAliasMapSingle extends AbstractBeanAliasMap {
   @Override
   public String getName(String propertyAlias) {
 
-    if (this.alias.equals(propertyAlias)) {
+    if (this.alias.equalsIgnoreCase(propertyAlias)) {
       return this.name;
     }
     return null;
@@ -42,7 +42,7 @@ public class BeanAliasMapSingle extends AbstractBeanAliasMap {
   @Override
   public List<String> getAliases(String propertyName) {
 
-    if (this.name.equals(propertyName)) {
+    if (this.name.equalsIgnoreCase(propertyName)) {
       return this.aliases;
     }
     return Collections.emptyList();
@@ -51,6 +51,9 @@ public class BeanAliasMapSingle extends AbstractBeanAliasMap {
   @Override
   public AbstractBeanAliasMap add(String propertyName, String propertyAlias) {
 
+    if (this.alias.equalsIgnoreCase(propertyAlias) && this.name.equals(propertyName)) {
+      return this;
+    }
     BeanAliasMapMultiple map = new BeanAliasMapMultiple(this.name, this.alias);
     return map.add(propertyName, propertyAlias);
   }
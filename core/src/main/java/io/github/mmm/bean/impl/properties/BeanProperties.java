@@ -4,6 +4,9 @@ import java.util.Collection;
 import java.util.Locale;
 import java.util.function.Function;
 
+import io.github.mmm.bean.PropertyHandle;
+import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.StructuredWriter;
 import io.github.mmm.property.ReadableProperty;
 import io.github.mmm.property.WritableProperty;
 
@@ -20,12 +23,66 @@ public abstract class BeanProperties {
    */
   public abstract WritableProperty<?> get(String name);
 
+  /**
+   * @param handle the {@link PropertyHandle} of the requested {@link WritableProperty property}.
+   * @return the requested {@link WritableProperty property} or {@code null} if no such property exists.
+   * @see io.github.mmm.bean.ReadableBean#getProperty(PropertyHandle)
+   */
+  public WritableProperty<?> get(PropertyHandle handle) {
+
+    return get(handle.getName());
+  }
+
   /**
    * @return the {@link Collection} with all contained {@link ReadableProperty properties}.
    * @see io.github.mmm.bean.ReadableBean#getProperties()
    */
   public abstract Collection<? extends WritableProperty<?>> get();
 
+  /**
+   * Writes the non {@link ReadableProperty#isTransient() transient} properties with their names.
+   *
+   * @param writer the {@link StructuredWriter} to write to.
+   * @see io.github.mmm.bean.WritableBean#writeProperties(StructuredWriter)
+   */
+  public void write(StructuredWriter writer) {
+
+    for (ReadableProperty<?> property : get()) {
+      if (!property.isTransient()) {
+        writer.writeName(property.getName());
+        property.writeObject(writer, property);
+      }
+    }
+  }
+
+  /**
+   * Reads the properties via an optimized plan if available.
+   *
+   * @param reader the {@link StructuredReader} to read from.
+   * @param propertyName the name of the first property that has already been {@link StructuredReader#readName() read}.
+   * @return {@code true} if the properties have been read, {@code false} if not supported (nothing has been read from
+   *         the {@link StructuredReader} and the properties have to be read generically).
+   * @see io.github.mmm.bean.WritableBean#readProperties(StructuredReader, String)
+   */
+  public boolean read(StructuredReader reader, String propertyName) {
+
+    return false;
+  }
+
+  /**
+   * Internal method to reset the values of the properties to those of the given {@code pristine} properties.
+   *
+   * @param pristine the {@link BeanProperties} of a {@link io.github.mmm.bean.ReadableBean#newInstance() new instance}
+   *        of the same bean with its initial values.
+   * @return {@code true} if the values have been reset, {@code false} if not supported (nothing has been changed and
+   *         the values have to be copied generically).
+   * @see io.github.mmm.bean.BeanHelper#copy(io.github.mmm.bean.WritableBean, io.github.mmm.bean.WritableBean)
+   */
+  public boolean reset(BeanProperties pristine) {
+
+    return false;
+  }
+
   /**
    * Internal method to add a property.
    *
@@ -34,6 +91,30 @@ public abstract class BeanProperties {
    */
   public abstract void add(WritableProperty<?> property);
 
+  /**
+   * Internal method to add multiple properties at once. Has the same effect as calling {@link #add(WritableProperty)}
+   * for each of the given properties but may be more efficient.
+   *
+   * @param properties the {@link Collection} of {@link WritableProperty properties} to add.
+   */
+  public void addAll(Collection<? extends WritableProperty<?>> properties) {
+
+    for (WritableProperty<?> property : properties) {
+      add(property);
+    }
+  }
+
+  /**
+   * Internal method called after properties have been added.
+   *
+   * @return the {@link BeanProperties} to use from now on. Typically {@code this} but may be a new container with the
+   *         same properties that is more efficient for the grown number of properties.
+   */
+  public BeanProperties optimize() {
+
+    return this;
+  }
+
   /**
    * Internal method to add a property if absent.
    *
@@ -55,18 +136,21 @@ public abstract class BeanProperties {
   }
 
   /**
-   * @return a new {@link BeanPropertyNames} instance with the names of the current properties.
+   * @param name the potential {@link io.github.mmm.property.WritableProperty#getName() property name}.
+   * @return the case-insensitive hash of the given {@code name} consistent with {@link String#equalsIgnoreCase(String)}
+   *         and computed without allocation.
    */
-  public BeanPropertyNames createNames() {
+  static int hashIgnoreCase(String name) {
 
-    Collection<? extends WritableProperty<?>> collection = get();
-    String[] names = new String[collection.size()];
-    int i = 0;
-    for (WritableProperty<?> property : collection) {
-      names[i++] = normalize(property.getName());
+    int hash = 0;
+    int length = name.length();
+    for (int i = 0; i < length; i++) {
+      char c = Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+      hash = 31 * hash + c;
     }
-    return new BeanPropertyNamesArray(names);
+    return hash ^ (hash >>> 16);
   }
+
   //
   // /**
   // * @param dynamic the {@link Bean#isDynamic() dynamic flag}.
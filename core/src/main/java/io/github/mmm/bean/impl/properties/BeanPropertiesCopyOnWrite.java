@@ -0,0 +1,225 @@
+package io.github.mmm.bean.impl.properties;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
+
+import io.github.mmm.bean.PropertyHandle;
+import io.github.mmm.property.WritableProperty;
+
+/**
+ * Thread-safe implementation of {@link BeanProperties} using copy-on-write. The properties are held in an immutable
+ * {@link Snapshot} (sorted array with case-insensitive hash index) published via a {@code volatile} field. Reads
+ * therefore need no locking while adding a property (what is rare) creates a new {@link Snapshot} that replaces the
+ * current one via compare-and-set.
+ */
+public class BeanPropertiesCopyOnWrite extends BeanProperties {
+
+  @SuppressWarnings("rawtypes")
+  private static final WritableProperty[] NO_PROPERTIES = new WritableProperty[0];
+
+  private static final Snapshot EMPTY = new Snapshot(NO_PROPERTIES);
+
+  private static final AtomicReferenceFieldUpdater<BeanPropertiesCopyOnWrite, Snapshot> SNAPSHOT_UPDATER = //
+      AtomicReferenceFieldUpdater.newUpdater(BeanPropertiesCopyOnWrite.class, Snapshot.class, "snapshot");
+
+  private volatile Snapshot snapshot;
+
+  private final PropertiesCollection properties;
+
+  /**
+   * The constructor.
+   */
+  public BeanPropertiesCopyOnWrite() {
+
+    super();
+    this.snapshot = EMPTY;
+    this.properties = new PropertiesCollection();
+  }
+
+  @Override
+  public WritableProperty<?> get(String name) {
+
+    return this.snapshot.get(name);
+  }
+
+  @Override
+  public WritableProperty<?> get(PropertyHandle handle) {
+
+    Snapshot current = this.snapshot;
+    int index = handle.getIndex();
+    if ((index >= 0) && (index < current.propertiesArray.length)) {
+      WritableProperty<?> property = current.propertiesArray[index];
+      if (property.getName().equals(handle.getName())) {
+        return property;
+      }
+    }
+    return current.get(handle.getName());
+  }
+
+  @Override
+  public Collection<? extends WritableProperty<?>> get() {
+
+    return this.properties;
+  }
+
+  @Override
+  public void add(WritableProperty<?> property) {
+
+    String name = property.getName();
+    while (true) {
+      Snapshot current = this.snapshot;
+      if (current.get(name) != null) {
+        throw new IllegalArgumentException("Duplicate property " + name);
+      }
+      if (SNAPSHOT_UPDATER.compareAndSet(this, current, current.add(property))) {
+        return;
+      }
+    }
+  }
+
+  @Override
+  public WritableProperty<?> addIfAbsent(String name, Function<String, WritableProperty<?>> factory) {
+
+    WritableProperty<?> property = null;
+    while (true) {
+      Snapshot current = this.snapshot;
+      WritableProperty<?> existing = current.get(name);
+      if (existing != null) {
+        return existing;
+      }
+      if (property == null) {
+        property = factory.apply(name);
+      }
+      if (SNAPSHOT_UPDATER.compareAndSet(this, current, current.add(property))) {
+        return property;
+      }
+    }
+  }
+
+  /**
+   * Immutable snapshot of the properties.
+   */
+  private static final class Snapshot {
+
+    /** The properties sorted by name. */
+    @SuppressWarnings("rawtypes")
+    private final WritableProperty[] propertiesArray;
+
+    /** Hash table with {@code index + 1} of the according property or {@code 0} for an empty slot. */
+    private final int[] table;
+
+    @SuppressWarnings("rawtypes")
+    private Snapshot(WritableProperty[] propertiesArray) {
+
+      super();
+      this.propertiesArray = propertiesArray;
+      int capacity = 4;
+      while (capacity < (propertiesArray.length * 2)) {
+        capacity = capacity << 1;
+      }
+      this.table = new int[capacity];
+      int mask = capacity - 1;
+      for (int i = 0; i < propertiesArray.length; i++) {
+        int slot = hashIgnoreCase(propertiesArray[i].getName()) & mask;
+        while (this.table[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        this.table[slot] = i + 1;
+      }
+    }
+
+    private WritableProperty<?> get(String name) {
+
+      int mask = this.table.length - 1;
+      int slot = hashIgnoreCase(name) & mask;
+      while (true) {
+        int entry = this.table[slot];
+        if (entry == 0) {
+          return null;
+        }
+        WritableProperty<?> property = this.propertiesArray[entry - 1];
+        if (property.getName().equalsIgnoreCase(name)) {
+          return property;
+        }
+        slot = (slot + 1) & mask;
+      }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Snapshot add(WritableProperty<?> property) {
+
+      String name = property.getName();
+      int length = this.propertiesArray.length;
+      int index = 0;
+      while ((index < length)
+          && (String.CASE_INSENSITIVE_ORDER.compare(this.propertiesArray[index].getName(), name) < 0)) {
+        index++;
+      }
+      WritableProperty[] newArray = new WritableProperty[length + 1];
+      System.arraycopy(this.propertiesArray, 0, newArray, 0, index);
+      newArray[index] = property;
+      System.arraycopy(this.propertiesArray, index, newArray, index + 1, length - index);
+      return new Snapshot(newArray);
+    }
+  }
+
+  private class PropertiesCollection extends AbstractCollection<WritableProperty<?>> {
+
+    private PropertiesCollection() {
+
+      super();
+    }
+
+    @Override
+    public int size() {
+
+      return BeanPropertiesCopyOnWrite.this.snapshot.propertiesArray.length;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<WritableProperty<?>> iterator() {
+
+      return new PropertiesIterator(BeanPropertiesCopyOnWrite.this.snapshot);
+    }
+  }
+
+  private static class PropertiesIterator implements Iterator<WritableProperty<?>> {
+
+    private final Snapshot snapshot;
+
+    private int index;
+
+    private PropertiesIterator(Snapshot snapshot) {
+
+      super();
+      this.snapshot = snapshot;
+    }
+
+    @Override
+    public boolean hasNext() {
+
+      return this.index < this.snapshot.propertiesArray.length;
+    }
+
+    @Override
+    public WritableProperty<?> next() {
+
+      if (this.index >= this.snapshot.propertiesArray.length) {
+        throw new NoSuchElementException();
+      }
+      return this.snapshot.propertiesArray[this.index++];
+    }
+
+  }
+
+}
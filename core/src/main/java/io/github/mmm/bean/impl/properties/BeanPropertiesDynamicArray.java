@@ -8,10 +8,13 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.function.Function;
 
+import io.github.mmm.bean.PropertyHandle;
 import io.github.mmm.property.WritableProperty;
 
 /**
- * Implementation of {@link BeanProperties} using {@link List}.
+ * Implementation of {@link BeanProperties} using {@link List}. Once it exceeds
+ * {@link BeanPropertiesDynamicHash#THRESHOLD} properties it is {@link #optimize() replaced} by a
+ * {@link BeanPropertiesDynamicHash}.
  */
 public class BeanPropertiesDynamicArray extends BeanProperties {
 
@@ -47,6 +50,19 @@ public class BeanPropertiesDynamicArray extends BeanProperties {
     return null;
   }
 
+  @Override
+  public WritableProperty<?> get(PropertyHandle handle) {
+
+    int index = handle.getIndex();
+    if ((index >= 0) && (index < this.size)) {
+      WritableProperty<?> property = this.propertiesArray[index];
+      if (property.getName().equals(handle.getName())) {
+        return property;
+      }
+    }
+    return get(handle.getName());
+  }
+
   @Override
   public Collection<? extends WritableProperty<?>> get() {
 
@@ -55,15 +71,13 @@ public class BeanPropertiesDynamicArray extends BeanProperties {
 
   private int indexedBinarySearch(String name) {
 
-    String key = normalize(name);
     int low = 0;
     int high = this.size - 1;
 
     while (low <= high) {
       int mid = (low + high) >>> 1;
       WritableProperty<?> midVal = this.propertiesArray[mid];
-      String currentName = normalize(midVal.getName()); // TODO store in metadata and make accessible for efficiency!
-      int cmp = currentName.compareTo(key);
+      int cmp = compare(midVal.getName(), name);
       if (cmp < 0) {
         low = mid + 1;
       } else if (cmp > 0) {
@@ -75,6 +89,17 @@ public class BeanPropertiesDynamicArray extends BeanProperties {
     return -(low + 1);
   }
 
+  /**
+   * @param name1 the first property name.
+   * @param name2 the second property name.
+   * @return the result of the case-insensitive comparison of the given names (without allocating the
+   *         {@link #normalize(String) normalized} names).
+   */
+  private static int compare(String name1, String name2) {
+
+    return String.CASE_INSENSITIVE_ORDER.compare(name1, name2);
+  }
+
   @Override
   public void add(WritableProperty<?> property) {
 
@@ -94,16 +119,7 @@ public class BeanPropertiesDynamicArray extends BeanProperties {
     WritableProperty[] target = this.propertiesArray;
     int capacity = this.propertiesArray.length;
     if (this.size == capacity) {
-      int addCapacity;
-      if (capacity <= 32) {
-        addCapacity = 4;
-      } else {
-        // here we use a power of 2 (8=2^3) so compiler will optimize to shift
-        addCapacity = capacity / 8;
-      }
-      target = new WritableProperty[capacity + addCapacity];
-    }
-    if (source != target) {
+      target = new WritableProperty[grow(capacity, capacity + 1)];
       System.arraycopy(source, 0, target, 0, index);
     }
     int len = this.size - index;
@@ -111,16 +127,85 @@ public class BeanPropertiesDynamicArray extends BeanProperties {
       System.arraycopy(source, index, target, index + 1, len);
     }
     target[index] = property;
-    if (this.propertiesArray != target) {
-      this.propertiesArray = target;
-    }
+    this.propertiesArray = target;
     this.size++;
-    // verification
+    assert verify();
+  }
+
+  /**
+   * @param capacity the current capacity.
+   * @param minCapacity the minimum capacity required.
+   * @return the new capacity (grows by 50% to achieve amortized constant costs per insert).
+   */
+  private static int grow(int capacity, int minCapacity) {
+
+    int newCapacity = capacity + (capacity >> 1);
+    if (newCapacity < minCapacity) {
+      newCapacity = minCapacity;
+    }
+    return newCapacity;
+  }
+
+  private boolean verify() {
+
     for (int i = 0; i < this.size; i++) {
       if (this.propertiesArray[i] == null) {
         throw new IllegalStateException(Arrays.toString(this.propertiesArray));
       }
     }
+    return true;
+  }
+
+  @SuppressWarnings("rawtypes")
+  @Override
+  public void addAll(Collection<? extends WritableProperty<?>> newProperties) {
+
+    int newCount = newProperties.size();
+    if (newCount == 0) {
+      return;
+    }
+    WritableProperty[] sorted = newProperties.toArray(new WritableProperty[newCount]);
+    // stable sort so for duplicate names the last property wins like for add
+    Arrays.sort(sorted, (p1, p2) -> compare(p1.getName(), p2.getName()));
+    WritableProperty[] source = this.propertiesArray;
+    int capacity = source.length;
+    int minCapacity = this.size + newCount;
+    WritableProperty[] target;
+    if (minCapacity > capacity) {
+      target = new WritableProperty[grow(capacity, minCapacity)];
+    } else {
+      target = new WritableProperty[capacity];
+    }
+    // merge the two sorted arrays
+    int sourceIndex = 0;
+    int sortedIndex = 0;
+    int targetIndex = 0;
+    while ((sourceIndex < this.size) || (sortedIndex < newCount)) {
+      WritableProperty<?> property;
+      if (sortedIndex >= newCount) {
+        property = source[sourceIndex++];
+      } else if (sourceIndex >= this.size) {
+        property = sorted[sortedIndex++];
+      } else {
+        int cmp = compare(source[sourceIndex].getName(), sorted[sortedIndex].getName());
+        if (cmp < 0) {
+          property = source[sourceIndex++];
+        } else {
+          if (cmp == 0) {
+            sourceIndex++; // replaced by new property
+          }
+          property = sorted[sortedIndex++];
+        }
+      }
+      if ((targetIndex > 0) && (compare(target[targetIndex - 1].getName(), property.getName()) == 0)) {
+        target[targetIndex - 1] = property;
+      } else {
+        target[targetIndex++] = property;
+      }
+    }
+    this.propertiesArray = target;
+    this.size = targetIndex;
+    assert verify();
   }
 
   @Override
@@ -137,6 +222,17 @@ public class BeanPropertiesDynamicArray extends BeanProperties {
     return result;
   }
 
+  @Override
+  public BeanProperties optimize() {
+
+    if (this.size <= BeanPropertiesDynamicHash.THRESHOLD) {
+      return this;
+    }
+    BeanPropertiesDynamicHash hash = new BeanPropertiesDynamicHash(grow(this.size, this.size + 1));
+    hash.addAll(this.properties);
+    return hash;
+  }
+
   private class PropertiesCollection extends AbstractCollection<WritableProperty<?>> {
 
     private PropertiesCollection() {
@@ -0,0 +1,209 @@
+package io.github.mmm.bean.impl.properties;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import io.github.mmm.bean.PropertyHandle;
+import io.github.mmm.property.WritableProperty;
+
+/**
+ * Implementation of {@link BeanProperties} using an open-addressing hash index with case-insensitive hashing. Unlike
+ * {@link BeanPropertiesDynamicArray} the properties are iterated in the order they have been added. Intended for
+ * {@link io.github.mmm.bean.Bean#isDynamic() dynamic} beans with a large number of properties.
+ */
+public class BeanPropertiesDynamicHash extends BeanProperties {
+
+  /** Number of properties from which on dynamic beans use {@link BeanPropertiesDynamicHash}. */
+  public static final int THRESHOLD = 64;
+
+  private int size;
+
+  @SuppressWarnings("rawtypes")
+  private WritableProperty[] propertiesArray;
+
+  /** Hash table with {@code index + 1} of the according property or {@code 0} for an empty slot. */
+  private int[] table;
+
+  private final PropertiesCollection properties;
+
+  /**
+   * The constructor.
+   *
+   * @param capacity the initial capacity.
+   */
+  public BeanPropertiesDynamicHash(int capacity) {
+
+    super();
+    if (capacity < 8) {
+      capacity = 8;
+    }
+    this.propertiesArray = new WritableProperty[capacity];
+    this.table = new int[tableCapacity(capacity)];
+    this.properties = new PropertiesCollection();
+  }
+
+  private static int tableCapacity(int capacity) {
+
+    int tableCapacity = 16;
+    while (tableCapacity < (capacity * 2)) {
+      tableCapacity = tableCapacity << 1;
+    }
+    return tableCapacity;
+  }
+
+  @Override
+  public WritableProperty<?> get(String name) {
+
+    int slot = findSlot(name);
+    int entry = this.table[slot];
+    if (entry == 0) {
+      return null;
+    }
+    return this.propertiesArray[entry - 1];
+  }
+
+  @Override
+  public WritableProperty<?> get(PropertyHandle handle) {
+
+    int index = handle.getIndex();
+    if ((index >= 0) && (index < this.size)) {
+      WritableProperty<?> property = this.propertiesArray[index];
+      if (property.getName().equals(handle.getName())) {
+        return property;
+      }
+    }
+    return get(handle.getName());
+  }
+
+  @Override
+  public Collection<? extends WritableProperty<?>> get() {
+
+    return this.properties;
+  }
+
+  /**
+   * @param name the property name.
+   * @return the slot in the {@link #table} containing the property with the given {@code name} or the empty slot where
+   *         to insert it.
+   */
+  private int findSlot(String name) {
+
+    int mask = this.table.length - 1;
+    int slot = hashIgnoreCase(name) & mask;
+    while (true) {
+      int entry = this.table[slot];
+      if ((entry == 0) || this.propertiesArray[entry - 1].getName().equalsIgnoreCase(name)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  @Override
+  public void add(WritableProperty<?> property) {
+
+    int slot = findSlot(property.getName());
+    int entry = this.table[slot];
+    if (entry == 0) {
+      append(slot, property);
+    } else {
+      this.propertiesArray[entry - 1] = property;
+    }
+  }
+
+  @Override
+  public WritableProperty<?> addIfAbsent(String name, Function<String, WritableProperty<?>> factory) {
+
+    int slot = findSlot(name);
+    int entry = this.table[slot];
+    if (entry != 0) {
+      return this.propertiesArray[entry - 1];
+    }
+    WritableProperty<?> result = factory.apply(name);
+    // factory may have changed this container
+    add(result);
+    return result;
+  }
+
+  @SuppressWarnings("rawtypes")
+  private void append(int slot, WritableProperty<?> property) {
+
+    int capacity = this.propertiesArray.length;
+    if (this.size == capacity) {
+      WritableProperty[] target = new WritableProperty[capacity + (capacity >> 1)];
+      System.arraycopy(this.propertiesArray, 0, target, 0, this.size);
+      this.propertiesArray = target;
+    }
+    this.propertiesArray[this.size++] = property;
+    if ((this.size * 2) > this.table.length) {
+      rehash();
+    } else {
+      this.table[slot] = this.size;
+    }
+  }
+
+  private void rehash() {
+
+    int[] newTable = new int[this.table.length << 1];
+    int mask = newTable.length - 1;
+    for (int i = 0; i < this.size; i++) {
+      int slot = hashIgnoreCase(this.propertiesArray[i].getName()) & mask;
+      while (newTable[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      newTable[slot] = i + 1;
+    }
+    this.table = newTable;
+  }
+
+  private class PropertiesCollection extends AbstractCollection<WritableProperty<?>> {
+
+    private PropertiesCollection() {
+
+      super();
+    }
+
+    @Override
+    public int size() {
+
+      return BeanPropertiesDynamicHash.this.size;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<WritableProperty<?>> iterator() {
+
+      return new PropertiesIterator();
+    }
+  }
+
+  private class PropertiesIterator implements Iterator<WritableProperty<?>> {
+
+    private int index;
+
+    @Override
+    public boolean hasNext() {
+
+      return this.index < BeanPropertiesDynamicHash.this.size;
+    }
+
+    @Override
+    public WritableProperty<?> next() {
+
+      if (this.index >= BeanPropertiesDynamicHash.this.size) {
+        throw new NoSuchElementException();
+      }
+      return BeanPropertiesDynamicHash.this.propertiesArray[this.index++];
+    }
+
+  }
+
+}
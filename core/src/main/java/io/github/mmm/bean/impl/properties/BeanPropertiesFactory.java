@@ -13,4 +13,15 @@ public interface BeanPropertiesFactory {
    */
   BeanProperties create(AbstractBean bean);
 
+  /**
+   * Called with a fully constructed {@link AbstractBean bean} so the factory may derive information from its
+   * {@link BeanProperties} for further instances. Must never be called from within the constructor of the bean.
+   *
+   * @param bean the {@link AbstractBean bean} whose constructor has completed.
+   */
+  default void onConstructed(AbstractBean bean) {
+
+    // nothing by default
+  }
+
 }
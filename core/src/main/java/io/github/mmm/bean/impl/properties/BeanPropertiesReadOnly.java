@@ -6,6 +6,7 @@ import java.util.Iterator;
 import java.util.function.Function;
 
 import io.github.mmm.base.exception.ReadOnlyException;
+import io.github.mmm.bean.PropertyHandle;
 import io.github.mmm.bean.WritableBean;
 import io.github.mmm.property.WritableProperty;
 
@@ -40,6 +41,16 @@ public class BeanPropertiesReadOnly extends BeanProperties {
     return property.getReadOnly();
   }
 
+  @Override
+  public WritableProperty<?> get(PropertyHandle handle) {
+
+    WritableProperty<?> property = this.delegate.getProperty(handle);
+    if (property == null) {
+      return null;
+    }
+    return property.getReadOnly();
+  }
+
   @Override
   public Collection<? extends WritableProperty<?>> get() {
 
@@ -8,6 +8,10 @@ import java.util.Objects;
 import java.util.function.Function;
 
 import io.github.mmm.base.exception.DuplicateObjectException;
+import io.github.mmm.bean.PropertyHandle;
+import io.github.mmm.bean.property.BeanProperty;
+import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.StructuredWriter;
 import io.github.mmm.property.WritableProperty;
 
 /**
@@ -23,6 +27,10 @@ public class BeanPropertiesStaticArray extends BeanProperties {
 
   private final Collection<WritableProperty<?>> properties;
 
+  private final BeanWritePlan writePlan;
+
+  private final BeanReadPlan readPlan;
+
   /**
    * The constructor.
    *
@@ -30,9 +38,23 @@ public class BeanPropertiesStaticArray extends BeanProperties {
    */
   public BeanPropertiesStaticArray(BeanPropertyNames propertyNames) {
 
+    this(propertyNames, null, null);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param propertyNames the {@link BeanPropertyNames}.
+   * @param writePlan the {@link BeanWritePlan} for the given {@link BeanPropertyNames} or {@code null} for none.
+   * @param readPlan the {@link BeanReadPlan} for the given {@link BeanPropertyNames} or {@code null} for none.
+   */
+  public BeanPropertiesStaticArray(BeanPropertyNames propertyNames, BeanWritePlan writePlan, BeanReadPlan readPlan) {
+
     super();
     Objects.requireNonNull(propertyNames);
     this.propertyNames = propertyNames;
+    this.writePlan = writePlan;
+    this.readPlan = readPlan;
     this.propertiesArray = new WritableProperty[propertyNames.size()];
     List<WritableProperty<?>> propertiesList = Arrays.asList(this.propertiesArray);
     this.properties = Collections.unmodifiableCollection(propertiesList);
@@ -48,6 +70,20 @@ public class BeanPropertiesStaticArray extends BeanProperties {
     return this.propertiesArray[index];
   }
 
+  @Override
+  public WritableProperty<?> get(PropertyHandle handle) {
+
+    int index = handle.getIndex();
+    if ((index >= 0) && (index < this.propertiesArray.length)) {
+      WritableProperty<?> property = this.propertiesArray[index];
+      // property names of static beans are case-insensitive (see BeanPropertyNamesArray)
+      if ((property != null) && property.getName().equalsIgnoreCase(handle.getName())) {
+        return property;
+      }
+    }
+    return get(handle.getName());
+  }
+
   @Override
   public Collection<? extends WritableProperty<?>> get() {
 
@@ -81,4 +117,72 @@ public class BeanPropertiesStaticArray extends BeanProperties {
     return this.propertiesArray[index];
   }
 
+  @Override
+  public void write(StructuredWriter writer) {
+
+    if (this.writePlan == null) {
+      super.write(writer);
+    } else {
+      this.writePlan.write(writer, this.propertiesArray);
+    }
+  }
+
+  @Override
+  public boolean read(StructuredReader reader, String propertyName) {
+
+    if (this.readPlan == null) {
+      return false;
+    }
+    this.readPlan.read(reader, propertyName, this);
+    return true;
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  @Override
+  public boolean reset(BeanProperties pristine) {
+
+    if (!(pristine instanceof BeanPropertiesStaticArray other) || (other.propertyNames != this.propertyNames)) {
+      return false;
+    }
+    for (int i = 0; i < this.propertiesArray.length; i++) {
+      WritableProperty property = this.propertiesArray[i];
+      if ((property != null) && !property.isReadOnly()) {
+        WritableProperty pristineProperty = other.propertiesArray[i];
+        if (pristineProperty.isValueMutable()) {
+          // never share a mutable value with the pristine bean
+          property.copyValue(pristineProperty);
+        } else if (pristineProperty instanceof BeanProperty beanProperty) {
+          resetBean((BeanProperty) property, beanProperty);
+        } else {
+          // immutable value can be shared
+          property.set(pristineProperty.get());
+        }
+      }
+    }
+    return true;
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private static void resetBean(BeanProperty property, BeanProperty pristine) {
+
+    if (pristine.isValueNull()) {
+      // bean value is created lazily on access - get() would create it in the pristine bean
+      property.set(null);
+    } else if (property.isValueNull() || (property.get() != pristine.get())) {
+      // a read-only bean (e.g. as default) can not be set as value of another property
+      property.copyValue(pristine);
+    }
+    // otherwise still sharing the read-only bean with the pristine bean
+  }
+
+  int indexOf(String name) {
+
+    return this.propertyNames.indexOf(name);
+  }
+
+  WritableProperty<?>[] getArray() {
+
+    return this.propertiesArray;
+  }
+
 }
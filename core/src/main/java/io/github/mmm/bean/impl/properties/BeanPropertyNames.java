@@ -1,16 +1,25 @@
 package io.github.mmm.bean.impl.properties;
 
 /**
- * Interface for the names of the properties of a static bean. Have to be managed in alphabetical order.
+ * Interface for the names of the properties of a static bean. Each property has a fixed index in the range from
+ * {@code 0} to {@link #size()}{@code - 1}. Lookups via {@link #indexOf(String)} ignore the case and use an
+ * open-addressing hash index (see {@link BeanPropertyNamesArray}) so the names do not need to be sorted.
  */
 public interface BeanPropertyNames {
 
   /**
-   * @param name the {@link io.github.mmm.property.WritableProperty#getName() property name}.
-   * @return the index of the {@link io.github.mmm.property.WritableProperty property} or a negative value if not found.
+   * @param name the {@link io.github.mmm.property.WritableProperty#getName() property name} or one of its aliases.
+   *        Case is ignored.
+   * @return the index of the {@link io.github.mmm.property.WritableProperty property} or {@code -1} if not found.
    */
   int indexOf(String name);
 
+  /**
+   * @param index the {@link #indexOf(String) index} of the requested property.
+   * @return the {@link io.github.mmm.property.WritableProperty#getName() property name} at the given {@code index}.
+   */
+  String getName(int index);
+
   /**
    * @return the total number of properties.
    */
@@ -1,12 +1,29 @@
 package io.github.mmm.bean.impl.properties;
 
+import java.util.Arrays;
+
+import io.github.mmm.bean.BeanAliasMap;
+
 /**
- * Implementation of {@link BeanPropertyNames}.
+ * Implementation of {@link BeanPropertyNames}. Uses a case-insensitive open-addressing hash index that is computed once
+ * on construction so {@link #indexOf(String)} does not allocate any objects. Optional {@link BeanAliasMap aliases} are
+ * stored as additional keys in the same index so resolving an alias also only takes a single lookup.
  */
 public class BeanPropertyNamesArray implements BeanPropertyNames {
 
   private final String[] names;
 
+  /** The keys of the index (the {@link #names} followed by the aliases). */
+  private final String[] keys;
+
+  /** The index of the property for each entry of {@link #keys}. */
+  private final int[] indexes;
+
+  /** Hash table with {@code index + 1} of the according key or {@code 0} for an empty slot. */
+  private final int[] table;
+
+  private final int mask;
+
   /**
    * The constructor.
    *
@@ -14,30 +31,81 @@ public class BeanPropertyNamesArray implements BeanPropertyNames {
    */
   public BeanPropertyNamesArray(String... names) {
 
+    this(names, null);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param names the static propery names in natural order.
+   * @param aliases the {@link BeanAliasMap} with the aliases to index additionally or {@code null} for none.
+   */
+  public BeanPropertyNamesArray(String[] names, BeanAliasMap aliases) {
+
     super();
     this.names = names;
+    String[] allKeys = names;
+    int[] allIndexes = new int[names.length];
+    int keyCount = names.length;
+    for (int i = 0; i < names.length; i++) {
+      allIndexes[i] = i;
+      if (aliases != null) {
+        for (String alias : aliases.getAliases(names[i])) {
+          if (keyCount == allKeys.length) {
+            int newLength = keyCount + 4 + (keyCount >> 1);
+            allKeys = Arrays.copyOf(allKeys, newLength);
+            allIndexes = Arrays.copyOf(allIndexes, newLength);
+          }
+          allKeys[keyCount] = alias;
+          allIndexes[keyCount] = i;
+          keyCount++;
+        }
+      }
+    }
+    int capacity = 4;
+    while (capacity < (keyCount * 2)) {
+      capacity = capacity << 1;
+    }
+    this.keys = allKeys;
+    this.indexes = allIndexes;
+    this.table = new int[capacity];
+    this.mask = capacity - 1;
+    for (int i = 0; i < keyCount; i++) {
+      String key = allKeys[i];
+      int slot = BeanProperties.hashIgnoreCase(key) & this.mask;
+      while (this.table[slot] != 0) {
+        if (this.keys[this.table[slot] - 1].equalsIgnoreCase(key)) {
+          break; // first key wins so property names take precedence over aliases
+        }
+        slot = (slot + 1) & this.mask;
+      }
+      if (this.table[slot] == 0) {
+        this.table[slot] = i + 1;
+      }
+    }
   }
 
   @Override
   public int indexOf(String name) {
 
-    String key = BeanProperties.normalize(name);
-    int low = 0;
-    int high = this.names.length - 1;
-
-    while (low <= high) {
-      int mid = (low + high) >>> 1;
-      String currentName = this.names[mid];
-      int cmp = currentName.compareTo(key);
-      if (cmp < 0) {
-        low = mid + 1;
-      } else if (cmp > 0) {
-        high = mid - 1;
-      } else {
-        return mid;
+    int slot = BeanProperties.hashIgnoreCase(name) & this.mask;
+    while (true) {
+      int entry = this.table[slot];
+      if (entry == 0) {
+        return -1;
+      }
+      int keyIndex = entry - 1;
+      if (this.keys[keyIndex].equalsIgnoreCase(name)) {
+        return this.indexes[keyIndex];
       }
+      slot = (slot + 1) & this.mask;
     }
-    return -(low + 1);
+  }
+
+  @Override
+  public String getName(int index) {
+
+    return this.names[index];
   }
 
   @Override
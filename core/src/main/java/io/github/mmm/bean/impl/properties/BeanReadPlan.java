@@ -0,0 +1,94 @@
+package io.github.mmm.bean.impl.properties;
+
+import io.github.mmm.bean.BeanType;
+import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.property.WritableProperty;
+
+/**
+ * Immutable plan to read the properties of a static (non {@link io.github.mmm.bean.Bean#isDynamic() dynamic}) bean
+ * type. Producers almost always emit the properties in the same order (the order of the {@link BeanWritePlan}). So
+ * after each property the next one is predicted and confirmed by a simple {@link String#equals(Object) equality}
+ * check. Only on a mismatch the property is looked up by its name (what is more expensive as the name has to be
+ * normalized for case-insensitive lookup) and the prediction continues after the property that was found.
+ *
+ * @see BeanPropertiesStaticArray#read(StructuredReader, String)
+ */
+public final class BeanReadPlan {
+
+  private final BeanType type;
+
+  private final int[] slots;
+
+  private final String[] names;
+
+  /** The position in {@link #slots} for each slot or {@code -1} if not contained. */
+  private final int[] positions;
+
+  /**
+   * The constructor.
+   *
+   * @param type the {@link BeanType} to read.
+   * @param writePlan the {@link BeanWritePlan} defining the expected order of the properties.
+   * @param size the total number of properties (slots).
+   */
+  public BeanReadPlan(BeanType type, BeanWritePlan writePlan, int size) {
+
+    super();
+    this.type = type;
+    this.slots = writePlan.getSlots();
+    this.names = writePlan.getNames();
+    this.positions = new int[size];
+    for (int i = 0; i < size; i++) {
+      this.positions[i] = -1;
+    }
+    for (int i = 0; i < this.slots.length; i++) {
+      this.positions[this.slots[i]] = i;
+    }
+  }
+
+  /**
+   * @param reader the {@link StructuredReader} to read from.
+   * @param propertyName the name of the first property that has already been {@link StructuredReader#readName() read}.
+   * @param properties the {@link BeanPropertiesStaticArray} to read into.
+   */
+  void read(StructuredReader reader, String propertyName, BeanPropertiesStaticArray properties) {
+
+    WritableProperty<?>[] array = properties.getArray();
+    String name = propertyName;
+    int next = 0;
+    int propertyCount = 1;
+    while (true) {
+      WritableProperty<?> property;
+      if ((next < this.names.length) && this.names[next].equals(name)) {
+        property = array[this.slots[next]];
+        next++;
+      } else {
+        if (StructuredReader.TYPE.equals(name)) {
+          throw new IllegalStateException("Property " + StructuredReader.TYPE + " of " + this.type
+              + " must come first but was " + propertyCount + ". property!");
+        }
+        int slot = properties.indexOf(name);
+        if (slot < 0) {
+          property = null;
+        } else {
+          property = array[slot];
+          int position = this.positions[slot];
+          if (position >= 0) {
+            next = position + 1;
+          }
+        }
+      }
+      if (property == null) {
+        reader.skipValue();
+      } else {
+        property.readObject(reader);
+      }
+      if (reader.readEnd()) {
+        return;
+      }
+      name = reader.readName();
+      propertyCount++;
+    }
+  }
+
+}
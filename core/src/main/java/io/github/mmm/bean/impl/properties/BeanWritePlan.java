@@ -0,0 +1,79 @@
+package io.github.mmm.bean.impl.properties;
+
+import io.github.mmm.marshall.StructuredWriter;
+import io.github.mmm.property.WritableProperty;
+
+/**
+ * Immutable plan to write the properties of a static (non {@link io.github.mmm.bean.Bean#isDynamic() dynamic}) bean
+ * type. It is compiled once per type and contains only the slots of the non {@link WritableProperty#isTransient()
+ * transient} properties together with their names so writing a bean requires no per-property checks or lookups.
+ *
+ * @see BeanPropertiesStaticArray#write(StructuredWriter)
+ */
+public final class BeanWritePlan {
+
+  private final int[] slots;
+
+  private final String[] names;
+
+  /**
+   * The constructor.
+   *
+   * @param propertyNames the {@link BeanPropertyNames} of the bean type.
+   * @param transients the flags if the property at the according slot is {@link WritableProperty#isTransient()
+   *        transient}.
+   */
+  public BeanWritePlan(BeanPropertyNames propertyNames, boolean[] transients) {
+
+    super();
+    int size = propertyNames.size();
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      if (!transients[i]) {
+        count++;
+      }
+    }
+    this.slots = new int[count];
+    this.names = new String[count];
+    int planIndex = 0;
+    for (int i = 0; i < size; i++) {
+      if (!transients[i]) {
+        this.slots[planIndex] = i;
+        this.names[planIndex] = propertyNames.getName(i);
+        planIndex++;
+      }
+    }
+  }
+
+  /**
+   * @return the number of properties to write.
+   */
+  public int size() {
+
+    return this.slots.length;
+  }
+
+  int[] getSlots() {
+
+    return this.slots;
+  }
+
+  String[] getNames() {
+
+    return this.names;
+  }
+
+  /**
+   * @param writer the {@link StructuredWriter} to write to.
+   * @param properties the properties by slot.
+   */
+  void write(StructuredWriter writer, WritableProperty<?>[] properties) {
+
+    for (int i = 0; i < this.slots.length; i++) {
+      WritableProperty<?> property = properties[this.slots[i]];
+      writer.writeName(this.names[i]);
+      property.writeObject(writer, property);
+    }
+  }
+
+}
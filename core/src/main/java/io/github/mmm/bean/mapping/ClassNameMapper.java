@@ -17,6 +17,12 @@ import io.github.mmm.bean.impl.mapping.ClassNameMapperProvider;
  */
 public abstract interface ClassNameMapper {
 
+  /** The maximum value for an explicit {@link #getTypeId(Class) type ID} (fits into a varint of three bytes). */
+  int MAX_EXPLICIT_TYPE_ID = 0x1FFFFF;
+
+  /** The maximum value for a derived {@link #getTypeId(Class) type ID} (fits into a varint of four bytes). */
+  int MAX_DERIVED_TYPE_ID = 0x0FFFFFFF;
+
   /**
    * @param javaClass the {@link Class} reflecting the type (class, interface, etc.) to map.
    * @return the name of the given {@link Class}. By default this is the {@link Class#getName() qualified name} but it
@@ -44,6 +50,26 @@ public abstract interface ClassNameMapper {
    */
   Class<?> getClass(String name);
 
+  /**
+   * @param javaClass the {@link Class} reflecting the {@link ClassType#BEAN bean} to map.
+   * @return the stable and compact type ID of the given {@link Class}. It is either explicitly configured via
+   *         {@link io.github.mmm.bean.BeanName#id()} or deterministically derived from the
+   *         {@link io.github.mmm.bean.BeanType#getStableName() stable name}. ID-based formats may write this ID as
+   *         varint instead of the {@link #getName(Class) name}. Will be {@code 0} if the derived ID of the bean
+   *         collides with the derived ID of another bean. In such case the bean has to be written by its
+   *         {@link io.github.mmm.bean.BeanType#getStableName() stable name}.
+   * @throws ObjectNotFoundException if the given {@link Class} is not a mapped bean.
+   */
+  int getTypeId(Class<?> javaClass);
+
+  /**
+   * @param typeId the {@link #getTypeId(Class) type ID}.
+   * @return the {@link Class} reflecting the bean with the given {@link #getTypeId(Class) type ID}. The same security
+   *         considerations apply as for {@link #getClass(String)}.
+   * @throws ObjectNotFoundException if the given {@code typeId} is not mapped.
+   */
+  Class<?> getClass(int typeId);
+
   /**
    * @param javaClass the {@link #getClass(String) class} to check.
    * @return {@code true} if the given {@link #getClass(String) class} is mapped by this {@link ClassNameMapper},
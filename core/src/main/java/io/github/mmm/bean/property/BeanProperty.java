@@ -88,6 +88,15 @@ public class BeanProperty<V extends WritableBean> extends Property<V> implements
     return false;
   }
 
+  /**
+   * @return {@code true} if no bean has been {@link #set(Object) set} or lazily created, {@code false} otherwise. Unlike
+   *         {@link #get()} this method never creates a bean.
+   */
+  public boolean isValueNull() {
+
+    return this.value == null;
+  }
+
   @Override
   protected V doGet() {
 
@@ -2,12 +2,22 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.bean;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import io.github.mmm.bean.examples.TestAliasBean;
 import io.github.mmm.bean.examples.TestBean;
+import io.github.mmm.bean.examples.TestNestedBean;
 import io.github.mmm.marshall.MarshallingConfig;
 import io.github.mmm.marshall.StandardFormat;
+import io.github.mmm.marshall.StructuredReader;
 import io.github.mmm.marshall.StructuredTextFormat;
 
 /**
@@ -58,4 +68,179 @@ class BeanMarshallingTest extends Assertions {
     assertThat(bean.Age.getValue()).isEqualTo(AGE);
   }
 
+  /**
+   * Test of unmarshalling {@link TestAliasBean} from JSON with the properties in a different order than written.
+   */
+  @Test
+  void testUnmarshallReordered() {
+
+    // arrange
+    TestAliasBean bean = newBeanWithReadPlan();
+    StructuredTextFormat jsonFormat = StandardFormat.json();
+
+    // act
+    jsonFormat.read("{\"Name\":\"John Doe\",\"Age\":42}", bean);
+
+    // assert
+    assertThat(bean.Name.get()).isEqualTo(NAME);
+    assertThat(bean.Age.getValue()).isEqualTo(AGE);
+  }
+
+  /**
+   * Test of unmarshalling {@link TestAliasBean} from JSON skipping unknown properties.
+   */
+  @Test
+  void testUnmarshallSkipsUnknown() {
+
+    // arrange
+    TestAliasBean bean = newBeanWithReadPlan();
+    StructuredTextFormat jsonFormat = StandardFormat.json();
+
+    // act
+    jsonFormat.read("{\"Unknown\":{\"Name\":\"Other\",\"List\":[1,2]},\"Age\":42,\"Other\":true,"
+        + "\"Name\":\"John Doe\"}", bean);
+
+    // assert
+    assertThat(bean.Name.get()).isEqualTo(NAME);
+    assertThat(bean.Age.getValue()).isEqualTo(AGE);
+  }
+
+  /**
+   * Test of unmarshalling {@link TestAliasBean} from JSON with property names in different case and via alias.
+   */
+  @Test
+  void testUnmarshallCaseInsensitiveAndAlias() {
+
+    // arrange
+    TestAliasBean bean = newBeanWithReadPlan();
+    StructuredTextFormat jsonFormat = StandardFormat.json();
+
+    // act
+    jsonFormat.read("{\"age\":42,\"FullName\":\"John Doe\"}", bean);
+
+    // assert
+    assertThat(bean.Name.get()).isEqualTo(NAME);
+    assertThat(bean.Age.getValue()).isEqualTo(AGE);
+  }
+
+  /**
+   * Test of unmarshalling {@link TestAliasBean} from JSON with the type after the first property.
+   */
+  @Test
+  void testUnmarshallTypeNotFirst() {
+
+    // arrange
+    TestAliasBean bean = newBeanWithReadPlan();
+    StructuredTextFormat jsonFormat = StandardFormat.json();
+
+    // act + assert
+    try {
+      jsonFormat.read("{\"Age\":42,\"@type\":\"mmm_TestAliasBean\"}", bean);
+      failBecauseExceptionWasNotThrown(IllegalStateException.class);
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessage("Property @type of " + bean.getType() + " must come first but was 2. property!");
+    }
+  }
+
+  /**
+   * @return a new {@link TestAliasBean} created after the schema of its type has been frozen so it is read via the
+   *         compiled read plan.
+   */
+  private static TestAliasBean newBeanWithReadPlan() {
+
+    return ReadableBean.newInstance(new TestAliasBean());
+  }
+
+  /**
+   * Test of {@link WritableBean#streamArray(WritableBean, StructuredReader, boolean)} reusing a single instance.
+   */
+  @Test
+  void testStreamArrayWithReuse() {
+
+    // arrange
+    String json = "[" + JSON + ",{\"Name\":\"Jane Doe\"}]";
+    StructuredReader reader = StandardFormat.json().reader(json);
+
+    // act
+    List<String> result = WritableBean.streamArray(new TestBean(), reader, true)
+        .map(bean -> bean.Name.get() + ":" + bean.Age.getValue()).collect(Collectors.toList());
+
+    // assert
+    assertThat(result).containsExactly(NAME + ":" + AGE, "Jane Doe:null");
+  }
+
+  /**
+   * Test of {@link WritableBean#readArray(WritableBean, StructuredReader, java.util.function.Consumer, boolean)}
+   * reusing a single instance that is reset before each element.
+   */
+  @Test
+  void testReadArrayWithReuse() {
+
+    // arrange
+    String json = "[" + JSON + ",{\"Name\":\"Jane Doe\"},{\"Age\":7}]";
+    StructuredReader reader = StandardFormat.json().reader(json);
+    List<String> result = new ArrayList<>();
+    Set<TestBean> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // act
+    WritableBean.readArray(new TestBean(), reader, bean -> {
+      instances.add(bean);
+      result.add(bean.Name.get() + ":" + bean.Age.getValue());
+    }, true);
+
+    // assert
+    assertThat(result).containsExactly(NAME + ":" + AGE, "Jane Doe:null", "null:7");
+    assertThat(instances).hasSize(1);
+  }
+
+  /**
+   * Test of {@link WritableBean#readArray(WritableBean, StructuredReader, java.util.function.Consumer, boolean)}
+   * reusing a single instance with nested beans that are modified by the consumer.
+   */
+  @Test
+  void testReadArrayWithReuseAndNestedBeans() {
+
+    // arrange
+    String json = "[{\"Name\":\"a\"},{\"Name\":\"b\"},{}]";
+    StructuredReader reader = StandardFormat.json().reader(json);
+    List<String> result = new ArrayList<>();
+
+    // act
+    WritableBean.readArray(new TestNestedBean(), reader, bean -> {
+      result.add(bean.Name.get() + ":" + bean.Default.get().Name.get() + ":" + bean.Child.isValueNull());
+      TestBean child = new TestBean();
+      child.Name.set("dirty");
+      bean.Child.set(child);
+      bean.Default.set(new TestBean());
+    }, true);
+
+    // assert
+    assertThat(result).containsExactly("a:Default:true", "b:Default:true", "null:Default:true");
+    assertThat(TestNestedBean.DEFAULT.Name.get()).isEqualTo("Default");
+  }
+
+  /**
+   * Test of {@link WritableBean#readArray(WritableBean, StructuredReader, java.util.function.Consumer, boolean)}
+   * creating a new instance for each element.
+   */
+  @Test
+  void testReadArrayWithoutReuse() {
+
+    // arrange
+    String json = "[" + JSON + ",{\"Name\":\"Jane Doe\"}]";
+    StructuredReader reader = StandardFormat.json().reader(json);
+    List<TestBean> result = new ArrayList<>();
+
+    // act
+    WritableBean.readArray(new TestBean(), reader, result::add, false);
+
+    // assert
+    assertThat(result).hasSize(2);
+    assertThat(result.get(0)).isNotSameAs(result.get(1));
+    assertThat(result.get(0).Name.get()).isEqualTo(NAME);
+    assertThat(result.get(0).Age.getValue()).isEqualTo(AGE);
+    assertThat(result.get(1).Name.get()).isEqualTo("Jane Doe");
+    assertThat(result.get(1).Age.getValue()).isNull();
+  }
+
 }
@@ -2,11 +2,17 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.bean;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import io.github.mmm.bean.examples.DynamicTestBean;
+import io.github.mmm.bean.examples.TestAliasBean;
 import io.github.mmm.bean.examples.TestBean;
 import io.github.mmm.bean.examples.TestBuildersBean;
+import io.github.mmm.bean.impl.AbstractBeanType;
+import io.github.mmm.bean.impl.BeanTypeImpl;
+import io.github.mmm.bean.impl.BeanTypeSchema;
 import io.github.mmm.property.WritableProperty;
 import io.github.mmm.property.time.localdate.LocalDateProperty;
 import io.github.mmm.validation.ValidationResult;
@@ -43,6 +49,38 @@ class BeanTest extends AbstractBeanTest {
     assertThat(bean).hasToString("mmm_TestBean(readonly=false,Age=42,Name=John Doe)");
   }
 
+  /**
+   * Test of {@link BeanType#getPropertyHandle(String)} and {@link WritableBean#getProperty(PropertyHandle)}.
+   */
+  @Test
+  void testPropertyHandle() {
+
+    // arrange
+    new TestBean(); // the second instance freezes the schema
+    BeanType type = new TestBean().getType();
+    PropertyHandle nameHandle = type.getPropertyHandle("name");
+    PropertyHandle ageHandle = type.getPropertyHandle("Age");
+    PropertyHandle undefinedHandle = type.getPropertyHandle("Undefined");
+    TestBean bean = new TestBean();
+    bean.Name.set("John Doe");
+    bean.Age.set(42);
+    // act + assert
+    assertThat(nameHandle.getName()).isEqualTo("Name");
+    assertThat(nameHandle.getIndex()).isNotNegative();
+    assertThat(ageHandle.getIndex()).isNotNegative().isNotEqualTo(nameHandle.getIndex());
+    assertThat(undefinedHandle.getIndex()).isNegative();
+    assertThat(bean.getProperty(nameHandle)).isSameAs(bean.Name);
+    assertThat(bean.getProperty(ageHandle)).isSameAs(bean.Age);
+    assertThat(bean.getProperty(undefinedHandle)).isNull();
+    assertThat((String) bean.get(nameHandle)).isEqualTo("John Doe");
+    assertThat((Integer) bean.get(ageHandle)).isEqualTo(42);
+    TestBean readOnly = WritableBean.getReadOnly(bean);
+    assertThat(readOnly.getProperty(nameHandle)).isSameAs(readOnly.Name);
+    TestBean dynamic = new DynamicTestBean();
+    assertThat(dynamic.getProperty(nameHandle)).isSameAs(dynamic.Name);
+    assertThat(dynamic.getProperty(PropertyHandle.of("Age"))).isSameAs(dynamic.Age);
+  }
+
   /**
    * Test of {@link TestBean} with {@link TestBean#isDynamic() dynamic flag} set.
    */
@@ -147,4 +185,162 @@ class BeanTest extends AbstractBeanTest {
         "  Name: [Mandatory] The value has to be filled.");
   }
 
+  /**
+   * Test that the {@link BeanTypeImpl#getSchema() schema} of a static bean created only via its constructor is frozen
+   * from the second instance on.
+   */
+  @Test
+  void testSchemaFrozenByConstruction() {
+
+    // arrange
+    SchemaTestBean first = new SchemaTestBean();
+    BeanTypeImpl type = (BeanTypeImpl) first.getType();
+    assertThat(type.getSchema()).isNull();
+    // act
+    SchemaTestBean second = new SchemaTestBean();
+    SchemaTestBean third = new SchemaTestBean();
+    // assert
+    BeanTypeSchema schema = type.getSchema();
+    assertThat(schema).isNotNull();
+    assertThat(schema.size()).isEqualTo(2);
+    assertThat(schema.getNames().indexOf("Name")).isNotNegative();
+    assertThat(schema.getNames().indexOf("Age")).isNotNegative();
+    for (SchemaTestBean bean : List.of(first, second, third)) {
+      assertThat(bean.getProperty("name")).isSameAs(bean.Name);
+      assertThat(bean.getProperty("AGE")).isSameAs(bean.Age);
+      assertThat(bean.getPropertyCount()).isEqualTo(2);
+    }
+    assertThat(type.getSchema()).isSameAs(schema);
+  }
+
+  /**
+   * Test that a {@link PropertyHandle} created before the schema has been frozen is resolved lazily afterwards.
+   */
+  @Test
+  void testPropertyHandleResolvedLazily() {
+
+    // arrange
+    HandleTestBean first = new HandleTestBean();
+    BeanTypeImpl type = (BeanTypeImpl) first.getType();
+    assertThat(type.getSchema()).isNull();
+    PropertyHandle nameHandle = type.getPropertyHandle("name");
+    assertThat(nameHandle.getIndex()).isNegative();
+    assertThat(first.getProperty(nameHandle)).isSameAs(first.Name);
+    // act
+    HandleTestBean second = new HandleTestBean();
+    // assert
+    assertThat(type.getSchema()).isNotNull();
+    assertThat(nameHandle.getIndex()).isEqualTo(type.getPropertyHandle("Name").getIndex()).isNotNegative();
+    assertThat(second.getProperty(nameHandle)).isSameAs(second.Name);
+    assertThat(first.getProperty(nameHandle)).isSameAs(first.Name);
+  }
+
+  /**
+   * Test that the aliases registered by the constructor of a static bean are shared via its type while aliases
+   * registered at runtime only apply to the instance.
+   */
+  @Test
+  void testAliasesSharedByType() {
+
+    // arrange
+    new TestAliasBean();
+    TestAliasBean second = new TestAliasBean();
+    // act
+    TestAliasBean third = new TestAliasBean();
+    third.registerAlias("Age", "Years");
+    // assert
+    assertThat(((AbstractBeanType) third.getType()).isAliasesFrozen()).isTrue();
+    assertThat(second.getAliases()).isSameAs(((AbstractBeanType) second.getType()).getAliases());
+    assertThat(second.getProperty("FullName")).isSameAs(second.Name);
+    assertThat(third.getProperty("FullName")).isSameAs(third.Name);
+    assertThat(third.getProperty("Years")).isSameAs(third.Age);
+    assertThat(second.getProperty("Years")).isNull();
+    assertThat(new TestAliasBean().getProperty("Years")).isNull();
+  }
+
+  /**
+   * Test that aliases registered at runtime on a {@link WritableBean#isDynamic() dynamic} bean do not leak into other
+   * instances of the same type.
+   */
+  @Test
+  void testRuntimeAliasOfDynamicBean() {
+
+    // arrange
+    DynamicTestBean bean = new DynamicTestBean();
+    DynamicTestBean other = new DynamicTestBean();
+    // act
+    bean.registerAlias("Name", "Nick");
+    // assert
+    assertThat(bean.getProperty("Nick")).isSameAs(bean.Name);
+    assertThat(other.getProperty("Nick")).isNull();
+    assertThat(new DynamicTestBean().getProperty("Nick")).isNull();
+    DynamicTestBean copy = ReadableBean.newInstance(bean);
+    assertThat(copy.getProperty("Nick")).isSameAs(copy.Name);
+  }
+
+  /** Test that aliases are case-insensitive like property names before and after the schema has been frozen. */
+  @Test
+  void testAliasCaseInsensitive() {
+
+    // arrange
+    CaseAliasTestBean first = new CaseAliasTestBean();
+    BeanTypeImpl type = (BeanTypeImpl) first.getType();
+    assertThat(type.getSchema()).isNull();
+    DynamicTestBean dynamic = new DynamicTestBean();
+    dynamic.registerAlias("Name", "Nick");
+    // act
+    WritableProperty<?> unfrozen = first.getProperty("fullname");
+    WritableProperty<?> unfrozenByHandle = first.getProperty(PropertyHandle.of("FULLNAME"));
+    CaseAliasTestBean second = new CaseAliasTestBean();
+    // assert
+    assertThat(unfrozen).isSameAs(first.Name);
+    assertThat(unfrozenByHandle).isSameAs(first.Name);
+    assertThat(type.getSchema()).isNotNull();
+    assertThat(second.getProperty("fullname")).isSameAs(second.Name);
+    assertThat(second.getProperty(type.getPropertyHandle("FULLNAME"))).isSameAs(second.Name);
+    assertThat(first.getProperty("fullName")).isSameAs(first.Name);
+    assertThat(dynamic.getProperty("nick")).isSameAs(dynamic.Name);
+    assertThat(dynamic.getAliases().getName("NICK")).isEqualTo("Name");
+  }
+
+  /**
+   * {@link TestAliasBean} with its own {@link BeanTypeImpl type} that is not used by other tests.
+   */
+  public static class CaseAliasTestBean extends TestAliasBean {
+
+  }
+
+  /**
+   * {@link TestBean} with its own {@link BeanTypeImpl type} that is not used by other tests.
+   */
+  public static class HandleTestBean extends TestBean {
+
+  }
+
+  /**
+   * {@link TestBean} with its own {@link BeanTypeImpl type} that is not used by other tests.
+   */
+  public static class SchemaTestBean extends TestBean {
+
+    /**
+     * The constructor.
+     */
+    public SchemaTestBean() {
+
+      this(null);
+    }
+
+    /**
+     * The constructor.
+     *
+     * @param writable the {@link WritableBean} to wrap as {@link #isReadOnly() read-only} bean or {@code null} to
+     *        create a mutable bean.
+     */
+    public SchemaTestBean(WritableBean writable) {
+
+      super(writable);
+    }
+
+  }
+
 }
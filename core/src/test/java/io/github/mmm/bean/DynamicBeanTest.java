@@ -36,4 +36,61 @@ class DynamicBeanTest extends AbstractBeanTest {
     checkProperty(bean, beanProperty, new Bean());
   }
 
+  /**
+   * Test of {@link DynamicBean} growing beyond the threshold for hash based property lookup.
+   */
+  @Test
+  void testManyProperties() {
+
+    // arrange
+    DynamicBean bean = new DynamicBean();
+    int count = 200;
+    WritableProperty<?>[] properties = new WritableProperty<?>[count];
+    // act
+    for (int i = 0; i < count; i++) {
+      properties[i] = bean.getOrCreateProperty("Property" + i, String.class);
+    }
+    DynamicBean copy = (DynamicBean) bean.newInstance();
+    // assert
+    assertThat(bean.getPropertyCount()).isEqualTo(count);
+    assertThat(copy.getPropertyCount()).isEqualTo(count);
+    for (int i = 0; i < count; i++) {
+      assertThat(bean.getProperty("property" + i)).isSameAs(properties[i]);
+      assertThat(bean.getOrCreateProperty("Property" + i, String.class)).isSameAs(properties[i]);
+      assertThat(copy.getProperty("PROPERTY" + i).getName()).isEqualTo("Property" + i);
+    }
+  }
+
+  /**
+   * Test of {@link AbstractBean#addProperties(java.util.Collection)}.
+   */
+  @Test
+  void testAddProperties() {
+
+    // arrange
+    DynamicBean source = new DynamicBean();
+    int count = 50;
+    for (int i = 0; i < count; i++) {
+      source.getOrCreateProperty("Property" + i, String.class).set("Value" + i);
+    }
+    DynamicBean bean = new DynamicBean();
+    WritableProperty<String> existing = bean.getOrCreateProperty("Existing", String.class);
+    // act
+    bean.addProperties(source.getProperties());
+    // assert
+    assertThat(bean.getPropertyCount()).isEqualTo(count + 1);
+    assertThat(bean.getProperty("existing")).isSameAs(existing);
+    for (int i = 0; i < count; i++) {
+      WritableProperty<?> sourceProperty = source.getProperty("Property" + i);
+      WritableProperty<?> property = bean.getProperty("property" + i);
+      assertThat(property).isNotSameAs(sourceProperty);
+      assertThat(property.getName()).isEqualTo("Property" + i);
+      assertThat(property.getMetadata().getLock()).isSameAs(bean);
+    }
+    assertThatThrownBy(() -> WritableBean.getReadOnly(bean).addProperties(source.getProperties()))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> new TestBean().addProperties(source.getProperties()))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
 }
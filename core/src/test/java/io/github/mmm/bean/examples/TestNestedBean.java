@@ -0,0 +1,59 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.bean.examples;
+
+import io.github.mmm.bean.Bean;
+import io.github.mmm.bean.BeanName;
+import io.github.mmm.bean.WritableBean;
+import io.github.mmm.bean.property.BeanProperty;
+import io.github.mmm.property.PropertyMetadata;
+import io.github.mmm.property.string.StringProperty;
+
+/**
+ * A {@link Bean} with nested {@link TestBean}s for testing.
+ */
+@BeanName("mmm_TestNestedBean")
+public class TestNestedBean extends Bean {
+
+  /** The {@link WritableBean#isReadOnly() read-only} default of {@link #Default}. */
+  public static final TestBean DEFAULT = createDefault();
+
+  /** Name of the bean. */
+  public final StringProperty Name;
+
+  /** Nested bean with {@link #DEFAULT} as default. */
+  public final BeanProperty<TestBean> Default;
+
+  /** Nested bean that is created lazily. */
+  public final BeanProperty<TestBean> Child;
+
+  /**
+   * The constructor.
+   */
+  public TestNestedBean() {
+
+    this(null);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param writable the {@link WritableBean} to wrap as {@link #isReadOnly() read-only} bean or {@code null} to create
+   *        a mutable bean.
+   */
+  public TestNestedBean(WritableBean writable) {
+
+    super(writable);
+    this.Name = add().newString("Name");
+    this.Default = add(new BeanProperty<>("Default", DEFAULT, PropertyMetadata.of(this, null, null)));
+    this.Child = add(new BeanProperty<>("Child", TestBean.class, PropertyMetadata.of(this, null, null)));
+  }
+
+  private static TestBean createDefault() {
+
+    TestBean bean = new TestBean();
+    bean.Name.set("Default");
+    return WritableBean.getReadOnly(bean);
+  }
+
+}
@@ -0,0 +1,49 @@
+package io.github.mmm.bean.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.bean.Bean;
+import io.github.mmm.bean.BeanName;
+import io.github.mmm.bean.DynamicBean;
+import io.github.mmm.bean.mapping.ClassNameMapper;
+
+/**
+ * Test of {@link AbstractBeanType}.
+ */
+class AbstractBeanTypeTest {
+
+  /** Test of {@link AbstractBeanType#deriveTypeId(String)}. */
+  @Test
+  void testDeriveTypeId() {
+
+    // arrange
+    String[] stableNames = { "", "Person", "Contact", "mmm_DynamicBean" };
+    for (String stableName : stableNames) {
+      // act
+      int typeId = AbstractBeanType.deriveTypeId(stableName);
+      // assert
+      assertThat(typeId).isGreaterThan(ClassNameMapper.MAX_EXPLICIT_TYPE_ID)
+          .isLessThanOrEqualTo(ClassNameMapper.MAX_DERIVED_TYPE_ID);
+      assertThat(AbstractBeanType.deriveTypeId(stableName)).isEqualTo(typeId);
+    }
+    // FNV-1a is stable across JVMs so the IDs must never change
+    assertThat(AbstractBeanType.deriveTypeId("Person")).isEqualTo(84863904);
+    assertThat(AbstractBeanType.deriveTypeId("Contact")).isNotEqualTo(AbstractBeanType.deriveTypeId("Person"));
+  }
+
+  /** Test of {@link AbstractBeanType#getStableTypeId(Class)}. */
+  @Test
+  void testGetStableTypeId() {
+
+    assertThat(AbstractBeanType.getStableTypeId(DynamicBean.class))
+        .isEqualTo(AbstractBeanType.deriveTypeId("mmm_DynamicBean"));
+    assertThat(AbstractBeanType.getStableTypeId(ExplicitIdBean.class)).isEqualTo(42);
+  }
+
+  @BeanName(value = "test_ExplicitId", id = 42)
+  static class ExplicitIdBean extends Bean {
+  }
+
+}
@@ -0,0 +1,13 @@
+package io.github.mmm.bean.impl.properties;
+
+/**
+ * Test of {@link BeanPropertiesCopyOnWrite}.
+ */
+class BeanPropertiesCopyOnWriteTest extends BeanPropertiesTest {
+  @Override
+  protected BeanProperties create() {
+
+    return new BeanPropertiesCopyOnWrite();
+  }
+
+}
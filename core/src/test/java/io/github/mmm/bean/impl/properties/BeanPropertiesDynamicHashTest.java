@@ -0,0 +1,19 @@
+package io.github.mmm.bean.impl.properties;
+
+/**
+ * Test of {@link BeanPropertiesDynamicHash}.
+ */
+class BeanPropertiesDynamicHashTest extends BeanPropertiesTest {
+  @Override
+  protected BeanProperties create() {
+
+    return new BeanPropertiesDynamicHash(16);
+  }
+
+  @Override
+  protected boolean isSorted() {
+
+    return false;
+  }
+
+}
@@ -23,6 +23,26 @@ public abstract class BeanPropertiesTest {
    */
   protected abstract BeanProperties create();
 
+  /**
+   * @return {@code true} if the {@link BeanProperties#get() properties} are iterated in sorted order, {@code false} if
+   *         iterated in the order they have been added.
+   */
+  protected boolean isSorted() {
+
+    return true;
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private void assertProperties(BeanProperties properties, List<WritableProperty<?>> added,
+      WritableProperty<?>... sorted) {
+
+    if (isSorted()) {
+      assertThat((Collection) properties.get()).containsExactly(sorted);
+    } else {
+      assertThat((Collection) properties.get()).containsExactlyElementsOf(added);
+    }
+  }
+
   /** Tests an empty instance of {@link BeanProperties}. */
   @Test
   void testEmpty() {
@@ -40,7 +60,6 @@ public abstract class BeanPropertiesTest {
   }
 
   /** Test of {@link BeanProperties#add(WritableProperty)} and {@link BeanProperties#get(String)}. */
-  @SuppressWarnings({ "rawtypes", "unchecked" })
   @Test
   void testAdd() {
 
@@ -61,14 +80,41 @@ public abstract class BeanPropertiesTest {
     for (WritableProperty<?> property : list) {
       assertThat(properties.get(property.getName())).isSameAs(property);
     }
-    assertThat((Collection) properties.get()).containsExactly(p1, p2, p3, p4, p5);
+    assertProperties(properties, list, p1, p2, p3, p4, p5);
+  }
+
+  /** Test of {@link BeanProperties#addAll(Collection)} and {@link BeanProperties#get(String)}. */
+  @Test
+  void testAddAll() {
+
+    // arrange
+    BeanProperties properties = create();
+    StringProperty p1 = new StringProperty("First");
+    StringProperty p2 = new StringProperty("Grand");
+    StringProperty p3 = new StringProperty("Hammond");
+    StringProperty p4 = new StringProperty("Insert");
+    StringProperty p5 = new StringProperty("Last");
+    properties.add(p4);
+    properties.add(p2);
+    List<WritableProperty<?>> list = new ArrayList<>(Arrays.asList(p3, p5, p1));
+    Collections.shuffle(list);
+    // act
+    properties.addAll(list);
+    // assert
+    assertThat(properties.get("first")).isSameAs(p1);
+    assertThat(properties.get("Grand")).isSameAs(p2);
+    assertThat(properties.get("Hammond")).isSameAs(p3);
+    assertThat(properties.get("Insert")).isSameAs(p4);
+    assertThat(properties.get("LAST")).isSameAs(p5);
+    List<WritableProperty<?>> added = new ArrayList<>(Arrays.asList(p4, p2));
+    added.addAll(list);
+    assertProperties(properties, added, p1, p2, p3, p4, p5);
   }
 
   /**
    * Test of {@link BeanProperties#addIfAbsent(String, java.util.function.Function)} and
    * {@link BeanProperties#get(String)}.
    */
-  @SuppressWarnings({ "rawtypes", "unchecked" })
   @Test
   void testAddIfAbsent() {
 
@@ -90,7 +136,7 @@ public abstract class BeanPropertiesTest {
     for (WritableProperty<?> property : list) {
       assertThat(properties.get(property.getName())).isNotSameAs(property).isEqualTo(property);
     }
-    assertThat((Collection) properties.get()).containsExactly(p1, p2, p3, p4, p5);
+    assertProperties(properties, list, p1, p2, p3, p4, p5);
     // act + assert on update
     for (WritableProperty<?> property : properties.get()) {
       WritableProperty<?> property2 = properties.addIfAbsent(property.getName(), name -> new StringProperty(name));
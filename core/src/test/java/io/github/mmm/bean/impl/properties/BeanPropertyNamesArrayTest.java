@@ -0,0 +1,69 @@
+package io.github.mmm.bean.impl.properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.bean.impl.alias.AbstractBeanAliasMap;
+import io.github.mmm.bean.impl.alias.BeanAliasMapEmpty;
+
+/**
+ * Test of {@link BeanPropertyNamesArray}.
+ */
+class BeanPropertyNamesArrayTest {
+
+  /** Test of {@link BeanPropertyNamesArray#indexOf(String)} with case-insensitive names. */
+  @Test
+  void testIndexOf() {
+
+    // arrange
+    String[] names = { "Age", "BirthDay", "Friend", "Name", "Orientation", "Single" };
+    // act
+    BeanPropertyNamesArray propertyNames = new BeanPropertyNamesArray(names);
+    // assert
+    assertThat(propertyNames.size()).isEqualTo(names.length);
+    for (int i = 0; i < names.length; i++) {
+      String name = names[i];
+      assertThat(propertyNames.indexOf(name)).isEqualTo(i);
+      assertThat(propertyNames.indexOf(name.toLowerCase())).isEqualTo(i);
+      assertThat(propertyNames.indexOf(name.toUpperCase())).isEqualTo(i);
+    }
+    assertThat(propertyNames.indexOf("Undefined")).isNegative();
+    assertThat(propertyNames.indexOf("")).isNegative();
+  }
+
+  /** Test of {@link BeanPropertyNamesArray#indexOf(String)} with aliases. */
+  @Test
+  void testIndexOfWithAliases() {
+
+    // arrange
+    String[] names = { "Age", "Name", "Single" };
+    AbstractBeanAliasMap aliases = BeanAliasMapEmpty.INSTANCE.add("Name", "LegacyName").add("Name", "@alternativeName")
+        .add("Age", "IceAge").add("Single", "Age");
+    // act
+    BeanPropertyNamesArray propertyNames = new BeanPropertyNamesArray(names, aliases);
+    // assert
+    assertThat(propertyNames.size()).isEqualTo(names.length);
+    assertThat(propertyNames.indexOf("Name")).isEqualTo(1);
+    assertThat(propertyNames.indexOf("LegacyName")).isEqualTo(1);
+    assertThat(propertyNames.indexOf("@alternativeName")).isEqualTo(1);
+    assertThat(propertyNames.indexOf("IceAge")).isEqualTo(0);
+    // property name takes precedence over alias
+    assertThat(propertyNames.indexOf("Age")).isEqualTo(0);
+    assertThat(propertyNames.getName(1)).isEqualTo("Name");
+    assertThat(propertyNames.indexOf("Undefined")).isNegative();
+  }
+
+  /** Test of {@link BeanPropertyNamesArray#indexOf(String)} on an empty instance. */
+  @Test
+  void testEmpty() {
+
+    // arrange
+    // act
+    BeanPropertyNamesArray propertyNames = new BeanPropertyNamesArray();
+    // assert
+    assertThat(propertyNames.size()).isZero();
+    assertThat(propertyNames.indexOf("Name")).isNegative();
+  }
+
+}
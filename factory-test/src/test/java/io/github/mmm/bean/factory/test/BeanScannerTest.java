@@ -0,0 +1,34 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.bean.factory.test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.bean.VirtualBean;
+import io.github.mmm.bean.factory.scanner.BeanScanner;
+
+/**
+ * Test of {@link BeanScanner}.
+ */
+class BeanScannerTest extends Assertions {
+
+  /** Test that {@link BeanScanner#BeanScanner(ForkJoinPool) parallel} scanning finds the same beans as sequential. */
+  @Test
+  void testParallelEqualsSequential() {
+
+    // arrange
+    assertThat(PersonBean.class.getModule()).isNotSameAs(VirtualBean.class.getModule());
+    // act
+    BeanScanner sequential = new BeanScanner(null);
+    BeanScanner parallel = new BeanScanner(ForkJoinPool.commonPool());
+    // assert
+    assertThat(sequential.findBeanInterfaces()).contains(PersonBean.class, ContactBean.class, Food.class,
+        Drink.class);
+    assertThat(parallel.findBeanInterfaces()).containsExactlyInAnyOrderElementsOf(sequential.findBeanInterfaces());
+    assertThat(parallel.findBeanClasses()).containsExactlyInAnyOrderElementsOf(sequential.findBeanClasses());
+  }
+
+}
@@ -15,14 +15,22 @@ import io.github.mmm.bean.factory.impl.proxy.BeanProxyPrototype;
  */
 public class BeanInterfaceCreator implements BeanCreator {
 
+  /**
+   * Name of the system property to enable {@link #isHiddenClasses() hidden classes} for the default
+   * {@link BeanInterfaceCreator}.
+   */
+  public static final String PROPERTY_HIDDEN_CLASSES = "mmm.bean.hidden-classes";
+
   private final ClassLoader classLoader;
 
+  private final boolean hiddenClasses;
+
   /**
    * The constructor.
    */
   public BeanInterfaceCreator() {
 
-    this(Thread.currentThread().getContextClassLoader());
+    this(Thread.currentThread().getContextClassLoader(), Boolean.getBoolean(PROPERTY_HIDDEN_CLASSES));
   }
 
   /**
@@ -32,8 +40,32 @@ public class BeanInterfaceCreator implements BeanCreator {
    */
   public BeanInterfaceCreator(ClassLoader classLoader) {
 
+    this(classLoader, false);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param classLoader the {@link ClassLoader}.
+   * @param hiddenClasses the {@link #isHiddenClasses() hidden classes} flag.
+   */
+  public BeanInterfaceCreator(ClassLoader classLoader, boolean hiddenClasses) {
+
     super();
     this.classLoader = classLoader;
+    this.hiddenClasses = hiddenClasses;
+  }
+
+  /**
+   * @return {@code true} if the beans shall be implemented by hidden classes generated at runtime with direct
+   *         access to the properties, {@code false} otherwise (to use {@link Proxy dynamic proxies}). If a hidden class
+   *         can not be generated for a bean type (e.g. because its interface is not public), a dynamic proxy is used as
+   *         fallback.
+   * @see io.github.mmm.bean.factory.impl.proxy.BeanProxyHiddenClass
+   */
+  public boolean isHiddenClasses() {
+
+    return this.hiddenClasses;
   }
 
   @SuppressWarnings({ "unchecked" })
@@ -66,7 +98,7 @@ public class BeanInterfaceCreator implements BeanCreator {
 
     if (type.isInterface()) {
       BeanProxyPrototype prototype = BeanProxyPrototype.get(type, this);
-      return (B) prototype.newInstance().getProxy().getReadOnly();
+      return (B) prototype.getEmpty();
     }
     return null;
   }
@@ -2,14 +2,22 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.bean.factory.impl;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 /**
- * A simple cache implementation that is thread-safe and uses {@link WeakReference}s to avoid memory leaks.
+ * A simple cache implementation that is thread-safe. Reading a cached value is lock-free. Only if a value has to be
+ * created the according key is locked (other keys are not affected). The {@link RetentionPolicy} determines if values
+ * are held strongly or via {@link SoftReference}s or {@link WeakReference}s to avoid memory leaks.
  *
  * @param <K> type of {@link Map#containsKey(Object) key}.
  * @param <V> type of {@link Map#containsValue(Object) value}.
@@ -18,18 +26,53 @@ import java.util.function.Supplier;
  */
 public class MemoryCache<K, V> {
 
-  private final ReentrantLock lock;
+  private final ConcurrentHashMap<K, Entry> cache;
 
-  private final Map<K, WeakReference<V>> cache;
+  private final ReferenceQueue<V> queue;
+
+  private final RetentionPolicy retentionPolicy;
+
+  private final long minTtl;
+
+  private final LongAdder hits;
+
+  private final LongAdder misses;
+
+  private final LongAdder rebuilds;
+
+  private final AtomicLong nextExpiry;
 
   /**
    * The constructor.
    */
   public MemoryCache() {
 
+    this(RetentionPolicy.WEAK, Duration.ZERO);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param retentionPolicy the {@link RetentionPolicy}.
+   * @param minTtl the minimum time to live of a value since its last access. Only used for
+   *        {@link RetentionPolicy#WEAK}. During that time the value is held strongly so it can not be garbage
+   *        collected.
+   */
+  public MemoryCache(RetentionPolicy retentionPolicy, Duration minTtl) {
+
     super();
-    this.lock = new ReentrantLock();
-    this.cache = new HashMap<>(32);
+    this.cache = new ConcurrentHashMap<>(32);
+    this.queue = new ReferenceQueue<>();
+    this.retentionPolicy = retentionPolicy;
+    if (retentionPolicy == RetentionPolicy.WEAK) {
+      this.minTtl = minTtl.toNanos();
+    } else {
+      this.minTtl = 0;
+    }
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+    this.rebuilds = new LongAdder();
+    this.nextExpiry = new AtomicLong(System.nanoTime() + this.minTtl);
   }
 
   /**
@@ -41,22 +84,274 @@ public class MemoryCache<K, V> {
    */
   public V get(K key, Supplier<V> factory) {
 
-    this.lock.lock();
-    try {
-      // WeakReference<V> weakReference = this.cache.computeIfAbsent(key, x -> new WeakReference<>(factory.get()));
-      WeakReference<V> weakReference = this.cache.get(key);
-      V value = null;
-      if (weakReference != null) {
-        value = weakReference.get();
+    Entry entry = this.cache.get(key);
+    boolean collected = false;
+    if (entry != null) {
+      V value = entry.get();
+      if (value != null) {
+        this.hits.increment();
+        if (this.minTtl > 0) {
+          long now = System.nanoTime();
+          entry.touch(value, now);
+          expirePins(now);
+        }
+        return value;
+      }
+      // the cleanup may replace the entry of a garbage collected value
+      collected = entry.created;
+    }
+    cleanup();
+    while (true) {
+      entry = this.cache.computeIfAbsent(key, Entry::new);
+      synchronized (entry) {
+        V value = entry.get();
+        if (value != null) {
+          this.hits.increment();
+          return value;
+        }
+        if (claim(entry)) {
+          if (entry.created || collected) {
+            this.rebuilds.increment();
+          } else {
+            this.misses.increment();
+          }
+          value = factory.get();
+          entry.set(value);
+          return value;
+        }
+      }
+      // entry was removed by cleanup in the meantime, retry with the currently mapped entry
+    }
+  }
+
+  /**
+   * Atomically verifies that the given {@link Entry} is still mapped and detaches its cleared reference so a
+   * concurrent {@link #cleanup()} can not remove the {@link Entry} while its value is created.
+   *
+   * @param entry the {@link Entry} to claim for creating its value.
+   * @return {@code true} if claimed, {@code false} if the {@link Entry} is no longer mapped.
+   */
+  private boolean claim(Entry entry) {
+
+    Entry mapped = this.cache.computeIfPresent(entry.key, (k, e) -> {
+      if (e == entry) {
+        e.reference = null;
       }
+      return e;
+    });
+    return (mapped == entry);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void cleanup() {
+
+    Reference<? extends V> reference = this.queue.poll();
+    while (reference != null) {
+      Entry entry = (Entry) ((ValueReference) reference).getEntry();
+      Reference<? extends V> cleared = reference;
+      this.cache.computeIfPresent(entry.key, (k, e) -> ((e == entry) && (e.reference == cleared)) ? null : e);
+      reference = this.queue.poll();
+    }
+    if (this.minTtl > 0) {
+      expirePins(System.nanoTime());
+    }
+  }
+
+  /**
+   * Releases the strong references of all values that have not been accessed within the minimum time to live. To
+   * keep hits cheap, the entries are only scanned once per minimum time to live.
+   *
+   * @param now the current {@link System#nanoTime() time}.
+   */
+  private void expirePins(long now) {
+
+    long next = this.nextExpiry.get();
+    if (((now - next) < 0) || !this.nextExpiry.compareAndSet(next, now + this.minTtl)) {
+      return;
+    }
+    for (Entry entry : this.cache.values()) {
+      if ((entry.strong != null) && ((now - entry.lastAccess) > this.minTtl)) {
+        entry.strong = null;
+      }
+    }
+  }
+
+  /**
+   * @return the {@link RetentionPolicy} of this cache.
+   */
+  public RetentionPolicy getRetentionPolicy() {
+
+    return this.retentionPolicy;
+  }
+
+  /**
+   * @return the number of values currently present in this cache.
+   */
+  public int getSize() {
+
+    int size = 0;
+    for (Entry entry : this.cache.values()) {
+      if (entry.get() != null) {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * @return the number of {@link #get(Object, Supplier) requests} that returned a cached value.
+   */
+  public long getHitCount() {
+
+    return this.hits.sum();
+  }
+
+  /**
+   * @return the number of {@link #get(Object, Supplier) requests} that created a value for a new key.
+   */
+  public long getMissCount() {
+
+    return this.misses.sum();
+  }
+
+  /**
+   * @return the number of {@link #get(Object, Supplier) requests} that had to create a value again because it has been
+   *         garbage collected. A high number compared to {@link #getHitCount() hits} indicates thrashing and a stronger
+   *         {@link RetentionPolicy} or longer minimum time to live should be used.
+   */
+  public long getRebuildCount() {
+
+    return this.rebuilds.sum();
+  }
+
+  @Override
+  public String toString() {
+
+    return getClass().getSimpleName() + "[" + this.retentionPolicy + ", size=" + getSize() + ", hits=" + getHitCount()
+        + ", misses=" + getMissCount() + ", rebuilds=" + getRebuildCount() + "]";
+  }
+
+  /**
+   * Enum with the available policies how to retain cached values.
+   */
+  public enum RetentionPolicy {
+
+    /** Values are held strongly and never garbage collected. */
+    STRONG,
+
+    /** Values are held via {@link SoftReference} and only garbage collected if memory gets low. */
+    SOFT,
+
+    /**
+     * Values are held via {@link WeakReference} and may be garbage collected as soon as they are no longer used (or
+     * the minimum time to live has expired).
+     */
+    WEAK;
+
+    /**
+     * @param name the {@link #name() name} of the {@link RetentionPolicy} (case-insensitive).
+     * @param defaultPolicy the {@link RetentionPolicy} to return if {@code name} is {@code null} or empty.
+     * @return the according {@link RetentionPolicy}.
+     */
+    public static RetentionPolicy of(String name, RetentionPolicy defaultPolicy) {
+
+      if ((name == null) || name.isEmpty()) {
+        return defaultPolicy;
+      }
+      return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+  }
+
+  private final class Entry {
+
+    private final K key;
+
+    private volatile Reference<V> reference;
+
+    private volatile V strong;
+
+    private volatile long lastAccess;
+
+    private volatile boolean created;
+
+    private Entry(K key) {
+
+      super();
+      this.key = key;
+    }
+
+    private V get() {
+
+      V value = this.strong;
       if (value == null) {
-        value = factory.get();
-        weakReference = new WeakReference<>(value);
-        this.cache.put(key, weakReference);
+        Reference<V> ref = this.reference;
+        if (ref != null) {
+          value = ref.get();
+        }
       }
       return value;
-    } finally {
-      this.lock.unlock();
+    }
+
+    private void touch(V value, long now) {
+
+      this.lastAccess = now;
+      if (this.strong == null) {
+        this.strong = value;
+      }
+    }
+
+    private void set(V value) {
+
+      this.created = true;
+      if (MemoryCache.this.retentionPolicy == RetentionPolicy.STRONG) {
+        this.strong = value;
+      } else if (MemoryCache.this.retentionPolicy == RetentionPolicy.SOFT) {
+        this.reference = new SoftValueReference<>(value, MemoryCache.this.queue, this);
+      } else {
+        this.reference = new WeakValueReference<>(value, MemoryCache.this.queue, this);
+        if (MemoryCache.this.minTtl > 0) {
+          touch(value, System.nanoTime());
+        }
+      }
+    }
+  }
+
+  private interface ValueReference {
+
+    Object getEntry();
+  }
+
+  private static final class SoftValueReference<V> extends SoftReference<V> implements ValueReference {
+
+    private final Object entry;
+
+    private SoftValueReference(V value, ReferenceQueue<? super V> queue, Object entry) {
+
+      super(value, queue);
+      this.entry = entry;
+    }
+
+    @Override
+    public Object getEntry() {
+
+      return this.entry;
+    }
+  }
+
+  private static final class WeakValueReference<V> extends WeakReference<V> implements ValueReference {
+
+    private final Object entry;
+
+    private WeakValueReference(V value, ReferenceQueue<? super V> queue, Object entry) {
+
+      super(value, queue);
+      this.entry = entry;
+    }
+
+    @Override
+    public Object getEntry() {
+
+      return this.entry;
     }
   }
 
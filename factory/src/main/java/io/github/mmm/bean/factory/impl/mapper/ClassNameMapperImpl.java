@@ -1,8 +1,18 @@
 package io.github.mmm.bean.factory.impl.mapper;
 
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,11 +20,24 @@ import org.slf4j.LoggerFactory;
 import io.github.mmm.base.collection.AbstractIterator;
 import io.github.mmm.base.exception.DuplicateObjectException;
 import io.github.mmm.base.exception.ObjectNotFoundException;
+import io.github.mmm.bean.AdvancedBean;
+import io.github.mmm.bean.Bean;
+import io.github.mmm.bean.VirtualBean;
+import io.github.mmm.bean.WritableBean;
+import io.github.mmm.bean.impl.BeanTypeImpl;
 import io.github.mmm.bean.mapping.ClassNameMapper;
 import io.github.mmm.property.factory.PropertyFactoryManager;
 
 /**
- * Implementation of {@link ClassNameMapper}.
+ * Implementation of {@link ClassNameMapper}. Only the datatypes are registered eagerly. Beans are registered lazily:
+ * a bean interface or non-abstract bean class is registered on demand with its
+ * {@link BeanTypeImpl#getStableName(Class) stable name} while a
+ * {@link #getClass(String) lookup by name} that can not be resolved triggers the registration of all
+ * {@link BeanTypeSet#getBeanTypes() bean types} (from the {@link io.github.mmm.bean.factory.scanner.BeanIndex} or via
+ * scanning) only once. Simple names of beans that differ from their {@link #getName(Class) name} are only mapped after
+ * all beans have been registered so the result of a lookup does not depend on the call history. The mappings are held
+ * in concurrent maps so readers never need to lock. A registration is validated completely before its mappings are
+ * published so a failed registration leaves no partial mappings and registering a bean does not copy existing ones.
  *
  * @since 1.0.0
  */
@@ -22,18 +45,44 @@ public class ClassNameMapperImpl implements ClassNameMapper {
 
   private static final Logger LOG = LoggerFactory.getLogger(ClassNameMapperImpl.class);
 
-  private Map<String, Class<?>> name2typeMap;
+  /** The generic bean types that are never reported as beans and therefore not registered on demand. */
+  private static final Set<Class<?>> ROOT_TYPES = Set.of(WritableBean.class, VirtualBean.class, Bean.class,
+      AdvancedBean.class);
 
-  private Map<Class<?>, ClassNameTypeContainer> class2containerMap;
+  private final Map<String, Class<?>> name2typeMap;
+
+  private final Map<Class<?>, ClassNameTypeContainer> class2containerMap;
+
+  private final Map<Integer, Class<?>> id2typeMap;
+
+  /** The derived type IDs that collide and are therefore not used by any bean. Only accessed while locked. */
+  private final Set<Integer> collidingIds;
+
+  private volatile boolean beansComplete;
+
+  private final Supplier<? extends Collection<? extends Class<?>>> beanTypes;
 
   /**
    * The constructor.
    */
   public ClassNameMapperImpl() {
 
+    this(() -> BeanTypeSet.INSTANCE.getBeanTypes());
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param beanTypes the {@link Supplier} of all bean types to register on the first lookup that can not be resolved.
+   */
+  ClassNameMapperImpl(Supplier<? extends Collection<? extends Class<?>>> beanTypes) {
+
     super();
-    this.name2typeMap = new HashMap<>();
-    this.class2containerMap = new HashMap<>();
+    this.beanTypes = beanTypes;
+    this.name2typeMap = new ConcurrentHashMap<>(256);
+    this.class2containerMap = new ConcurrentHashMap<>(256);
+    this.id2typeMap = new ConcurrentHashMap<>(256);
+    this.collidingIds = new HashSet<>();
     init();
   }
 
@@ -42,57 +91,126 @@ public class ClassNameMapperImpl implements ClassNameMapper {
    */
   void init() {
 
+    List<ClassNameTypeContainer> containers = new ArrayList<>();
     for (Class<?> type : PropertyFactoryManager.get().getValueTypes()) {
-      addDatatype(type);
-    }
-    for (Class<?> type : BeanTypeSet.INSTANCE.getBeanTypes()) {
-      addBean(type);
+      containers.add(new ClassNameTypeContainer(type, ClassType.DATATYPE));
     }
+    register(containers, true);
   }
 
   void addDatatype(Class<?> datatype) {
 
-    add(new ClassNameTypeContainer(datatype, ClassType.DATATYPE));
+    register(List.of(new ClassNameTypeContainer(datatype, ClassType.DATATYPE)), true);
   }
 
   void addBean(Class<?> beanType) {
 
-    add(new ClassNameTypeContainer(beanType, ClassType.BEAN));
+    register(List.of(new ClassNameTypeContainer(beanType, ClassType.BEAN)), this.beansComplete);
   }
 
-  void add(ClassNameTypeContainer container) {
+  /**
+   * @param containers the {@link ClassNameTypeContainer}s to register. Containers that are already registered are
+   *        ignored except for their simple names.
+   * @param simpleNames - {@code true} to also map the simple names of the given containers, {@code false} otherwise.
+   */
+  private synchronized void register(Collection<ClassNameTypeContainer> containers, boolean simpleNames) {
 
-    LOG.debug("Adding class {} for name {} and type {}.", container.javaClass, container.qualifiedName,
-        container.classType);
-    ClassNameTypeContainer duplicateContainer = this.class2containerMap.put(container.javaClass, container);
-    if (duplicateContainer != null) {
-      throw new DuplicateObjectException(container.javaClass.getName(), container.qualifiedName,
-          duplicateContainer.qualifiedName);
+    if (containers.isEmpty()) {
+      return;
     }
-    Class<?> duplicateClass = this.name2typeMap.put(container.name, container.javaClass);
-    if (duplicateClass != null) {
-      throw new DuplicateObjectException(container.name, container.javaClass.getName(), duplicateClass.getName());
+    // only the new mappings are collected and validated before anything is published
+    Mappings mappings = new Mappings();
+    for (ClassNameTypeContainer container : containers) {
+      if (mappings.getContainer(container.javaClass) != container) {
+        mappings.add(container);
+      }
     }
-    if (container.name != container.simpleName) {
-      Class<?> mappedClass = this.name2typeMap.putIfAbsent(container.simpleName, container.javaClass);
-      if (mappedClass != null) {
-        duplicateContainer = this.class2containerMap.get(mappedClass);
-        Class<?> unmappedClass = container.javaClass;
-        if (container.priority > duplicateContainer.priority) {
-          this.name2typeMap.put(container.simpleName, container.javaClass);
-          unmappedClass = mappedClass;
-          mappedClass = container.javaClass;
-        }
-        LOG.warn("Duplicate simple name {} mapped to class {} and not to {}", container.simpleName, mappedClass,
-            unmappedClass);
+    if (simpleNames) {
+      // after all names so a simple name never blocks the name of another container
+      for (ClassNameTypeContainer container : containers) {
+        mappings.addSimpleName(container);
+      }
+    }
+    // classes last so a registered class can always be resolved by its name and type ID
+    this.name2typeMap.putAll(mappings.names);
+    for (Integer id : mappings.collisions) {
+      this.id2typeMap.remove(id);
+    }
+    this.collidingIds.addAll(mappings.collisions);
+    this.id2typeMap.putAll(mappings.ids);
+    this.class2containerMap.putAll(mappings.classes);
+  }
+
+  private ClassNameTypeContainer getContainer(Class<?> javaClass) {
+
+    ClassNameTypeContainer container = this.class2containerMap.get(javaClass);
+    if ((container == null) && isBean(javaClass)) {
+      container = registerBean(javaClass);
+    }
+    return container;
+  }
+
+  private static boolean isBean(Class<?> javaClass) {
+
+    int modifiers = javaClass.getModifiers();
+    if (!WritableBean.class.isAssignableFrom(javaClass) || !Modifier.isPublic(modifiers)
+        || ROOT_TYPES.contains(javaClass)) {
+      return false;
+    } else if (!javaClass.isInterface() && Modifier.isAbstract(modifiers)) {
+      return false; // abstract bean classes are never reported as beans
+    }
+    return !javaClass.isMemberClass() && !javaClass.isLocalClass() && !javaClass.isAnonymousClass()
+        && !javaClass.isHidden() && !Proxy.isProxyClass(javaClass);
+  }
+
+  private synchronized ClassNameTypeContainer registerBean(Class<?> beanClass) {
+
+    ClassNameTypeContainer container = this.class2containerMap.get(beanClass);
+    if (container == null) {
+      container = new ClassNameTypeContainer(beanClass, ClassType.BEAN);
+      // simple name is mapped by registerAllBeans to be independent of the call history
+      register(List.of(container), this.beansComplete);
+    }
+    return container;
+  }
+
+  private Class<?> getType(String name) {
+
+    Class<?> javaClass = this.name2typeMap.get(name);
+    if ((javaClass == null) && !this.beansComplete) {
+      registerAllBeans();
+      javaClass = this.name2typeMap.get(name);
+    }
+    return javaClass;
+  }
+
+  private synchronized void registerAllBeans() {
+
+    if (this.beansComplete) {
+      return;
+    }
+    Map<Class<?>, ClassNameTypeContainer> containers = new LinkedHashMap<>();
+    for (Class<?> type : this.beanTypes.get()) {
+      ClassNameTypeContainer container = this.class2containerMap.get(type);
+      if (container == null) {
+        container = new ClassNameTypeContainer(type, ClassType.BEAN);
       }
+      containers.put(type, container);
     }
+    // beans registered on demand that are not part of the bean types still need their simple names
+    for (ClassNameTypeContainer container : this.class2containerMap.values()) {
+      if (container.classType == ClassType.BEAN) {
+        containers.putIfAbsent(container.javaClass, container);
+      }
+    }
+    register(containers.values(), true);
+    this.beansComplete = true;
   }
 
   @Override
   public String getName(Class<?> javaClass) {
 
-    ClassNameTypeContainer container = this.class2containerMap.get(javaClass);
+    ClassNameTypeContainer container = getContainer(javaClass);
     if (container == null) {
       throw new ObjectNotFoundException("ClassNameTypeContainer", javaClass.getName());
     }
@@ -102,7 +220,7 @@ public class ClassNameMapperImpl implements ClassNameMapper {
   @Override
   public String getNameOrQualified(Class<?> javaClass) {
 
-    ClassNameTypeContainer container = this.class2containerMap.get(javaClass);
+    ClassNameTypeContainer container = getContainer(javaClass);
     if (container == null) {
       return javaClass.getName();
     }
@@ -112,31 +230,181 @@ public class ClassNameMapperImpl implements ClassNameMapper {
   @Override
   public Class<?> getClass(String name) {
 
-    Class<?> javaClass = this.name2typeMap.get(name);
+    Class<?> javaClass = getType(name);
     if (javaClass == null) {
       throw new ObjectNotFoundException("Class", name);
     }
     return javaClass;
   }
 
+  @Override
+  public int getTypeId(Class<?> javaClass) {
+
+    ClassNameTypeContainer container = getContainer(javaClass);
+    if ((container == null) || (container.typeId == 0)) {
+      throw new ObjectNotFoundException("Bean", javaClass.getName());
+    }
+    if ((container.typeId > MAX_EXPLICIT_TYPE_ID) && !this.beansComplete) {
+      // collisions of derived IDs have to be known before an ID is handed out independent of the call history
+      registerAllBeans();
+    }
+    if (this.id2typeMap.get(Integer.valueOf(container.typeId)) != javaClass) {
+      return 0;
+    }
+    return container.typeId;
+  }
+
+  @Override
+  public Class<?> getClass(int typeId) {
+
+    Integer id = Integer.valueOf(typeId);
+    Class<?> javaClass = this.id2typeMap.get(id);
+    if ((javaClass == null) && !this.beansComplete) {
+      registerAllBeans();
+      javaClass = this.id2typeMap.get(id);
+    }
+    if (javaClass == null) {
+      throw new ObjectNotFoundException("Bean", id);
+    }
+    return javaClass;
+  }
+
   @Override
   public boolean contains(Class<?> javaClass) {
 
-    return this.class2containerMap.containsKey(javaClass);
+    return getContainer(javaClass) != null;
   }
 
   @Override
   public boolean contains(String name) {
 
-    return this.name2typeMap.containsKey(name);
+    return getType(name) != null;
   }
 
   @Override
   public Iterator<Class<?>> getClasses(ClassType classType) {
 
+    if (classType != ClassType.DATATYPE) {
+      registerAllBeans();
+    }
     return new ClassIterator(this.class2containerMap.values().iterator(), classType);
   }
 
+  /**
+   * The new mappings of a single registration layered over the published mappings.
+   */
+  private class Mappings {
+
+    private final Map<String, Class<?>> names;
+
+    private final Map<Class<?>, ClassNameTypeContainer> classes;
+
+    private final Map<Integer, Class<?>> ids;
+
+    private final Set<Integer> collisions;
+
+    private Mappings() {
+
+      super();
+      this.names = new HashMap<>();
+      this.classes = new HashMap<>();
+      this.ids = new HashMap<>();
+      this.collisions = new HashSet<>();
+    }
+
+    private ClassNameTypeContainer getContainer(Class<?> javaClass) {
+
+      ClassNameTypeContainer container = this.classes.get(javaClass);
+      if (container == null) {
+        container = ClassNameMapperImpl.this.class2containerMap.get(javaClass);
+      }
+      return container;
+    }
+
+    private Class<?> getType(String name) {
+
+      Class<?> javaClass = this.names.get(name);
+      if (javaClass == null) {
+        javaClass = ClassNameMapperImpl.this.name2typeMap.get(name);
+      }
+      return javaClass;
+    }
+
+    private Class<?> getType(Integer id) {
+
+      if (this.collisions.contains(id) || ClassNameMapperImpl.this.collidingIds.contains(id)) {
+        return null;
+      }
+      Class<?> javaClass = this.ids.get(id);
+      if (javaClass == null) {
+        javaClass = ClassNameMapperImpl.this.id2typeMap.get(id);
+      }
+      return javaClass;
+    }
+
+    private void add(ClassNameTypeContainer container) {
+
+      LOG.debug("Adding class {} for name {} and type {}.", container.javaClass, container.qualifiedName,
+          container.classType);
+      ClassNameTypeContainer duplicateContainer = getContainer(container.javaClass);
+      if (duplicateContainer != null) {
+        throw new DuplicateObjectException(container.javaClass.getName(), container.qualifiedName,
+            duplicateContainer.qualifiedName);
+      }
+      Class<?> duplicateClass = getType(container.name);
+      if (duplicateClass != null) {
+        throw new DuplicateObjectException(container.name, container.javaClass.getName(), duplicateClass.getName());
+      }
+      if (container.typeId != 0) {
+        addTypeId(container);
+      }
+      this.classes.put(container.javaClass, container);
+      this.names.put(container.name, container.javaClass);
+    }
+
+    private void addTypeId(ClassNameTypeContainer container) {
+
+      Integer id = Integer.valueOf(container.typeId);
+      if (this.collisions.contains(id) || ClassNameMapperImpl.this.collidingIds.contains(id)) {
+        LOG.warn("Derived type ID {} of {} collides with other beans that are therefore written by name.", id,
+            container.javaClass);
+        return;
+      }
+      Class<?> duplicateClass = getType(id);
+      if (duplicateClass == null) {
+        this.ids.put(id, container.javaClass);
+      } else if (container.typeId <= MAX_EXPLICIT_TYPE_ID) {
+        throw new DuplicateObjectException(id, container.javaClass.getName(), duplicateClass.getName());
+      } else {
+        // derived IDs are hashes that may collide - do not fail but let both beans fall back to their names
+        this.ids.remove(id);
+        this.collisions.add(id);
+        LOG.warn("Derived type ID {} of {} collides with {} so both are written by name.", id, container.javaClass,
+            duplicateClass);
+      }
+    }
+
+    private void addSimpleName(ClassNameTypeContainer container) {
+
+      if (!container.name.equals(container.simpleName)) {
+        Class<?> mappedClass = getType(container.simpleName);
+        if (mappedClass == null) {
+          this.names.put(container.simpleName, container.javaClass);
+        } else if (mappedClass != container.javaClass) {
+          ClassNameTypeContainer duplicateContainer = getContainer(mappedClass);
+          Class<?> unmappedClass = container.javaClass;
+          if (container.priority > duplicateContainer.priority) {
+            this.names.put(container.simpleName, container.javaClass);
+            unmappedClass = mappedClass;
+            mappedClass = container.javaClass;
+          }
+          LOG.warn("Duplicate simple name {} mapped to class {} and not to {}", container.simpleName, mappedClass,
+              unmappedClass);
+        }
+      }
+    }
+  }
+
   private static class ClassIterator extends AbstractIterator<Class<?>> {
 
     private final Iterator<ClassNameTypeContainer> it;
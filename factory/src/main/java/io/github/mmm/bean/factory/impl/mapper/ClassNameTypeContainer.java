@@ -23,6 +23,9 @@ public class ClassNameTypeContainer {
 
   final int priority;
 
+  /** The {@link io.github.mmm.bean.mapping.ClassNameMapper#getTypeId(Class) type ID} or {@code 0} if no bean. */
+  final int typeId;
+
   /**
    * The constructor.
    *
@@ -37,8 +40,10 @@ public class ClassNameTypeContainer {
     this.simpleName = javaClass.getSimpleName();
     if (classType == ClassType.BEAN) {
       this.qualifiedName = BeanTypeImpl.getStableName(javaClass);
+      this.typeId = BeanTypeImpl.getStableTypeId(javaClass);
     } else {
       this.qualifiedName = javaClass.getName();
+      this.typeId = 0;
     }
     if (this.qualifiedName.startsWith("java.")) {
       this.priority = 3;
@@ -2,7 +2,6 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.bean.factory.impl.operation;
 
-import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
@@ -59,32 +58,49 @@ public abstract class BeanOperation {
   protected Object invokeDefaultMethod(BeanProxy proxy, Method method, Object[] args) throws Throwable {
 
     try {
-      return InvocationHandler.invokeDefault(proxy.getProxy(), method, args);
+      return proxy.invokeDefault(method, args);
     } catch (NoSuchMethodError e) {
-      LOG.error("Your Java version is outdated! Please use Java >= 16 to prevent this error! For details see:\n"
-          + "https://github.com/m-m-m/bean/issues/4");
-      Class<?> returnType = method.getReturnType();
-      if (returnType.isPrimitive()) {
-        if (int.class == returnType) {
-          return Integer.valueOf(0);
-        } else if (long.class == returnType) {
-          return Long.valueOf(0L);
-        } else if (double.class == returnType) {
-          return Double.valueOf(0);
-        } else if (boolean.class == returnType) {
-          return Boolean.FALSE;
-        } else if (float.class == returnType) {
-          return Float.valueOf(0);
-        } else if (char.class == returnType) {
-          return Character.valueOf('\0');
-        } else if (byte.class == returnType) {
-          return Byte.valueOf((byte) 0);
-        } else if (short.class == returnType) {
-          return Short.valueOf((short) 0);
-        }
+      logOutdatedJava();
+      return getDefaultResult(method.getReturnType());
+    }
+  }
+
+  /**
+   * Logs an error that the Java version is outdated and does not support invocation of default methods.
+   */
+  protected static void logOutdatedJava() {
+
+    LOG.error("Your Java version is outdated! Please use Java >= 16 to prevent this error! For details see:\n"
+        + "https://github.com/m-m-m/bean/issues/4");
+  }
+
+  /**
+   * @param returnType the {@link Method#getReturnType() return type} of a {@link Method}.
+   * @return the default result for the given {@code returnType} ({@code null} for objects or {@code 0} or
+   *         {@code false} for primitive types).
+   */
+  protected static Object getDefaultResult(Class<?> returnType) {
+
+    if (returnType.isPrimitive()) {
+      if (int.class == returnType) {
+        return Integer.valueOf(0);
+      } else if (long.class == returnType) {
+        return Long.valueOf(0L);
+      } else if (double.class == returnType) {
+        return Double.valueOf(0);
+      } else if (boolean.class == returnType) {
+        return Boolean.FALSE;
+      } else if (float.class == returnType) {
+        return Float.valueOf(0);
+      } else if (char.class == returnType) {
+        return Character.valueOf('\0');
+      } else if (byte.class == returnType) {
+        return Byte.valueOf((byte) 0);
+      } else if (short.class == returnType) {
+        return Short.valueOf((short) 0);
       }
-      return null;
     }
+    return null;
   }
 
   /**
@@ -113,6 +129,16 @@ public abstract class BeanOperation {
     return null;
   }
 
+  /**
+   * @return {@code true} if the {@link #createProperty(BeanProxy) created property} may be bound to the
+   *         {@link BeanProxy} it was created for (e.g. by an expression of a {@link Method#isDefault() default method})
+   *         and therefore has to be created for each instance, {@code false} if it can be copied from the prototype.
+   */
+  public boolean isPropertyBound() {
+
+    return false;
+  }
+
   /**
    * @param bean the {@link InternalBean} where to register potential aliases.
    */
@@ -2,12 +2,17 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.bean.factory.impl.operation;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 
 import io.github.mmm.bean.factory.impl.proxy.BeanProxy;
 
 /**
- * Operation for {@link Method#isDefault() default} {@link Method}s.
+ * Operation for {@link Method#isDefault() default} {@link Method}s. The {@link Method#isDefault() default}
+ * {@link Method} is resolved only once to a {@link MethodHandle} invoking the default implementation on the proxy
+ * instance. Only if that is not possible (e.g. because the package of the interface is not open), the invocation is
+ * delegated to {@link BeanProxy#invokeDefault(Method, Object[])}.
  *
  * @since 1.0.0
  */
@@ -15,6 +20,12 @@ public class BeanOperationDefaultMethod extends BeanOperation {
 
   private final Method method;
 
+  /** {@link MethodHandle} of type {@code (Object, Object[])Object} or {@code null} if not available. */
+  private final MethodHandle handle;
+
+  /** The {@link #getDefaultResult(Class) default result} if the default method can not be invoked. */
+  private final Object defaultResult;
+
   /**
    * The constructor.
    *
@@ -25,12 +36,36 @@ public class BeanOperationDefaultMethod extends BeanOperation {
     super();
     assert method.isDefault();
     this.method = method;
+    this.handle = createHandle(method);
+    this.defaultResult = getDefaultResult(method.getReturnType());
+  }
+
+  private static MethodHandle createHandle(Method method) {
+
+    Class<?> declaringClass = method.getDeclaringClass();
+    try {
+      BeanOperationDefaultMethod.class.getModule().addReads(declaringClass.getModule());
+      MethodHandle handle = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup())
+          .unreflectSpecial(method, declaringClass).asFixedArity();
+      return handle.asType(handle.type().generic()).asSpreader(Object[].class, method.getParameterCount());
+    } catch (IllegalAccessException | RuntimeException e) {
+      // fallback to InvocationHandler.invokeDefault
+      return null;
+    }
   }
 
   @Override
   public Object invoke(BeanProxy proxy, Object[] args) throws Throwable {
 
-    return invokeDefaultMethod(proxy, this.method, args);
+    if (this.handle != null) {
+      return this.handle.invokeExact((Object) proxy.getProxy(), args);
+    }
+    try {
+      return proxy.invokeDefault(this.method, args);
+    } catch (NoSuchMethodError e) {
+      logOutdatedJava();
+      return this.defaultResult;
+    }
   }
 
   /**
@@ -57,7 +57,13 @@ public class BeanOperationGetter extends BeanOperationOnProperty {
   @Override
   public Object invoke(BeanProxy proxy, Object[] args) throws Throwable {
 
-    Object value = proxy.getBean().get(this.propertyName);
+    Object value;
+    WritableProperty<?> property = proxy.getProperty(this.handle);
+    if (property == null) {
+      value = proxy.getBean().get(this.propertyName);
+    } else {
+      value = property.get();
+    }
     if (value == null) {
       value = this.defaultResult;
     }
@@ -9,6 +9,7 @@ import io.github.mmm.base.metainfo.MetaInfo;
 import io.github.mmm.bean.Bean;
 import io.github.mmm.bean.Mandatory;
 import io.github.mmm.bean.PropertyAlias;
+import io.github.mmm.bean.PropertyHandle;
 import io.github.mmm.bean.factory.impl.GenericTypeInfo;
 import io.github.mmm.bean.factory.impl.bean.InternalBean;
 import io.github.mmm.bean.factory.impl.proxy.BeanProxy;
@@ -36,6 +37,9 @@ public abstract class BeanOperationOnProperty extends BeanOperation {
   /** @see #getMethod() */
   protected final Method method;
 
+  /** @see #resolveSlot(int) */
+  protected PropertyHandle handle;
+
   private MetaInfo metaInfo;
 
   /**
@@ -50,6 +54,7 @@ public abstract class BeanOperationOnProperty extends BeanOperation {
     Objects.requireNonNull(propertyName, "propertyName");
     this.propertyName = propertyName;
     this.method = method;
+    this.handle = PropertyHandle.of(propertyName);
   }
 
   @Override
@@ -66,6 +71,19 @@ public abstract class BeanOperationOnProperty extends BeanOperation {
     return this.method;
   }
 
+  /**
+   * Resolves the property of this operation to a stable slot so it can be accessed without a lookup by
+   * {@link #getPropertyName() name}. Called once when the
+   * {@link io.github.mmm.bean.factory.impl.proxy.BeanProxyPrototype prototype} is introspected.
+   *
+   * @param slot the index of the property in the {@link BeanProxy#getProperty(PropertyHandle) slots} of the
+   *        {@link BeanProxy}.
+   */
+  public void resolveSlot(int slot) {
+
+    this.handle = PropertyHandle.of(this.propertyName, slot);
+  }
+
   /**
    * @param proxy the {@link BeanProxy}.
    * @param propertyType the {@link GenericTypeInfo} of the the {@link WritableProperty} or {@code null} if
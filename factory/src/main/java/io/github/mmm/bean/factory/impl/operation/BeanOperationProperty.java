@@ -29,7 +29,7 @@ public class BeanOperationProperty extends BeanOperationOnProperty {
   @Override
   public Object invoke(BeanProxy proxy, Object[] args) throws Throwable {
 
-    return proxy.getBean().getProperty(this.propertyName);
+    return proxy.getProperty(this.handle);
   }
 
   @Override
@@ -50,4 +50,10 @@ public class BeanOperationProperty extends BeanOperationOnProperty {
     return createPropertyByPropertyType(proxy, GenericTypeInfo.ofReturnType(this.method));
   }
 
+  @Override
+  public boolean isPropertyBound() {
+
+    return this.method.isDefault();
+  }
+
 }
@@ -26,10 +26,16 @@ public class BeanOperationSetter extends BeanOperationOnProperty {
     super(propertyName, method);
   }
 
+  @SuppressWarnings({ "rawtypes", "unchecked" })
   @Override
   public Object invoke(BeanProxy proxy, Object[] args) {
 
-    proxy.getBean().set(this.propertyName, args[0]);
+    WritableProperty property = proxy.getProperty(this.handle);
+    if (property == null) {
+      proxy.getBean().set(this.propertyName, args[0]);
+    } else {
+      property.set(args[0]);
+    }
     return null;
   }
 
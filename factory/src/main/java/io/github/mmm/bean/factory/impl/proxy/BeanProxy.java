@@ -4,16 +4,18 @@ package io.github.mmm.bean.factory.impl.proxy;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 
 import io.github.mmm.bean.AbstractBean;
 import io.github.mmm.bean.BeanClass;
 import io.github.mmm.bean.BeanType;
+import io.github.mmm.bean.PropertyHandle;
 import io.github.mmm.bean.WritableBean;
 import io.github.mmm.bean.factory.impl.BeanInterfaceCreator;
 import io.github.mmm.bean.factory.impl.bean.InternalBean;
 import io.github.mmm.bean.factory.impl.bean.SimpleBean;
 import io.github.mmm.bean.factory.impl.bean.SimpleVirtualBean;
-import io.github.mmm.bean.factory.impl.operation.BeanOperation;
+import io.github.mmm.property.WritableProperty;
 
 /**
  * Proxy for a {@link WritableBean}.
@@ -31,6 +33,9 @@ public abstract class BeanProxy implements InvocationHandler {
   /** @see #getBean() */
   protected final InternalBean bean;
 
+  /** @see #getProperty(PropertyHandle) */
+  WritableProperty<?>[] properties;
+
   /**
    * The constructor.
    *
@@ -45,11 +50,22 @@ public abstract class BeanProxy implements InvocationHandler {
     super();
     this.proxy = beanFactory.createProxy(this, interfaces);
     this.beanFactory = beanFactory;
-    if (beanType instanceof BeanClass) {
-      this.bean = new SimpleVirtualBean(writable, (BeanClass) beanType);
-    } else {
-      this.bean = new SimpleBean(writable, beanType);
-    }
+    this.bean = createBean(writable, beanType);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param prototype the {@link BeanProxyPrototype} to create an instance of.
+   * @param writable the {@link WritableBean} to wrap as {@link WritableBean#isReadOnly() read-only} bean or
+   *        {@code null} to create a mutable bean.
+   */
+  BeanProxy(BeanProxyPrototype prototype, WritableBean writable) {
+
+    super();
+    this.proxy = prototype.createProxy(this);
+    this.beanFactory = prototype.beanFactory;
+    this.bean = createBean(writable, prototype.beanType);
   }
 
   /**
@@ -67,6 +83,15 @@ public abstract class BeanProxy implements InvocationHandler {
     this.bean = bean;
   }
 
+  private static InternalBean createBean(WritableBean writable, BeanType beanType) {
+
+    if (beanType instanceof BeanClass) {
+      return new SimpleVirtualBean(writable, (BeanClass) beanType);
+    } else {
+      return new SimpleBean(writable, beanType);
+    }
+  }
+
   /**
    * @return the {@link BeanProxyPrototype}.
    */
@@ -75,13 +100,18 @@ public abstract class BeanProxy implements InvocationHandler {
   @Override
   public Object invoke(Object instance, Method method, Object[] args) throws Throwable {
 
-    Object result = null;
-    BeanOperation operation = getPrototype().getOperation(method);
-    if (operation == null) {
-      result = method.invoke(this.bean, args);
-    } else {
-      result = operation.invoke(this, args);
-    }
+    return invoke(getPrototype().getMethod(method), args);
+  }
+
+  /**
+   * @param method the resolved {@link BeanProxyMethod}.
+   * @param args the method arguments.
+   * @return the result of the invocation.
+   * @throws Throwable if the invocation failed.
+   */
+  Object invoke(BeanProxyMethod method, Object[] args) throws Throwable {
+
+    Object result = method.invoke(this, args);
     if (result == this.bean) {
       result = this.proxy;
     }
@@ -89,13 +119,54 @@ public abstract class BeanProxy implements InvocationHandler {
   }
 
   /**
-   * @return the dynamic proxy instance.
+   * Invokes the given {@link Method#isDefault() default} {@link Method} on the {@link #getProxy() proxy instance}.
+   *
+   * @param method the {@link Method#isDefault() default} {@link Method}.
+   * @param args the method parameters.
+   * @return the result of the method invocation.
+   * @throws Throwable if something went wrong.
+   * @see InvocationHandler#invokeDefault(Object, Method, Object...)
+   */
+  public Object invokeDefault(Method method, Object[] args) throws Throwable {
+
+    if (!Proxy.isProxyClass(this.proxy.getClass())) {
+      BeanProxyHiddenClass hiddenClass = getPrototype().getHiddenClass();
+      if (hiddenClass != null) {
+        return hiddenClass.invokeDefault(this.proxy, method, args);
+      }
+    }
+    return InvocationHandler.invokeDefault(this.proxy, method, args);
+  }
+
+  /**
+   * @return the dynamic proxy instance (or instance of the {@link BeanProxyHiddenClass hidden class}).
    */
   public WritableBean getProxy() {
 
     return this.proxy;
   }
 
+  /**
+   * @param handle the {@link PropertyHandle} with the {@link PropertyHandle#getName() name} and the slot
+   *        {@link PropertyHandle#getIndex() index} of the property.
+   * @return the requested {@link WritableProperty} from the slot of this proxy or from the {@link #getBean() bean} if
+   *         the slot is unresolved or not yet filled. Will be {@code null} if no such property exists.
+   */
+  public WritableProperty<?> getProperty(PropertyHandle handle) {
+
+    WritableProperty<?>[] slots = this.properties;
+    int slot = handle.getIndex();
+    if ((slots == null) || (slot < 0)) {
+      return this.bean.getProperty(handle.getName());
+    }
+    WritableProperty<?> property = slots[slot];
+    if (property == null) {
+      property = this.bean.getProperty(handle.getName());
+      slots[slot] = property;
+    }
+    return property;
+  }
+
   /**
    * @return the bean class implementation to use as container delegate.
    */
@@ -0,0 +1,588 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.bean.factory.impl.proxy;
+
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimal writer for the bytecode of a {@link BeanProxyHiddenClass}. It only supports what is needed for the generated
+ * classes: a constructor, fields and straight-line methods without branches (so no stack map frames are required).
+ */
+final class BeanProxyClassWriter {
+
+  private static final int CLASS_VERSION = 52;
+
+  private static final int ACC_PUBLIC = 0x0001;
+
+  private static final int ACC_PRIVATE = 0x0002;
+
+  private static final int ACC_FINAL = 0x0010;
+
+  private static final int ACC_SUPER = 0x0020;
+
+  private static final String OBJECT = "java/lang/Object";
+
+  private final Map<String, Integer> constants;
+
+  private final Bytes pool;
+
+  private int poolSize;
+
+  private final Bytes fields;
+
+  private int fieldCount;
+
+  private final Bytes methods;
+
+  private int methodCount;
+
+  private final int thisClass;
+
+  private final int superClass;
+
+  private final int[] interfaces;
+
+  /**
+   * The constructor.
+   *
+   * @param className the internal name of the class to generate.
+   * @param interfaces the interfaces to implement.
+   */
+  BeanProxyClassWriter(String className, Class<?>[] interfaces) {
+
+    super();
+    this.constants = new HashMap<>();
+    this.pool = new Bytes();
+    this.poolSize = 1;
+    this.fields = new Bytes();
+    this.methods = new Bytes();
+    this.thisClass = classRef(className);
+    this.superClass = classRef(OBJECT);
+    this.interfaces = new int[interfaces.length];
+    for (int i = 0; i < interfaces.length; i++) {
+      this.interfaces[i] = classRef(internalName(interfaces[i]));
+    }
+  }
+
+  /**
+   * @param type the {@link Class}.
+   * @return the internal name of the given {@link Class}.
+   */
+  static String internalName(Class<?> type) {
+
+    return type.getName().replace('.', '/');
+  }
+
+  /**
+   * @param name the field name.
+   * @param type the field type.
+   * @param modifiable {@code true} if the field may be changed after construction, {@code false} otherwise.
+   */
+  void field(String name, Class<?> type, boolean modifiable) {
+
+    int access = ACC_PRIVATE;
+    if (!modifiable) {
+      access = access | ACC_FINAL;
+    }
+    this.fields.u2(access);
+    this.fields.u2(utf8(name));
+    this.fields.u2(utf8(type.descriptorString()));
+    this.fields.u2(0);
+    this.fieldCount++;
+  }
+
+  /**
+   * @param name the method name.
+   * @param type the {@link MethodType} of the method.
+   * @return the {@link Code} to write the method body.
+   */
+  Code method(String name, MethodType type) {
+
+    return new Code(name, type);
+  }
+
+  /**
+   * @param internalName the internal name of the class.
+   * @param name the field name.
+   * @param type the field type.
+   * @return the index of the field reference.
+   */
+  int fieldRef(String internalName, String name, Class<?> type) {
+
+    return memberRef(9, internalName, name, type.descriptorString());
+  }
+
+  private int memberRef(int tag, String owner, String name, String descriptor) {
+
+    String key = tag + ":" + owner + "." + name + descriptor;
+    Integer index = this.constants.get(key);
+    if (index == null) {
+      int classIndex = classRef(owner);
+      int nameAndType = nameAndType(name, descriptor);
+      this.pool.u1(tag);
+      this.pool.u2(classIndex);
+      this.pool.u2(nameAndType);
+      index = add(key, 1);
+    }
+    return index.intValue();
+  }
+
+  private int nameAndType(String name, String descriptor) {
+
+    String key = "12:" + name + descriptor;
+    Integer index = this.constants.get(key);
+    if (index == null) {
+      int nameIndex = utf8(name);
+      int descriptorIndex = utf8(descriptor);
+      this.pool.u1(12);
+      this.pool.u2(nameIndex);
+      this.pool.u2(descriptorIndex);
+      index = add(key, 1);
+    }
+    return index.intValue();
+  }
+
+  private int classRef(String internalName) {
+
+    String key = "7:" + internalName;
+    Integer index = this.constants.get(key);
+    if (index == null) {
+      int nameIndex = utf8(internalName);
+      this.pool.u1(7);
+      this.pool.u2(nameIndex);
+      index = add(key, 1);
+    }
+    return index.intValue();
+  }
+
+  private int integer(int value) {
+
+    String key = "3:" + value;
+    Integer index = this.constants.get(key);
+    if (index == null) {
+      this.pool.u1(3);
+      this.pool.u4(value);
+      index = add(key, 1);
+    }
+    return index.intValue();
+  }
+
+  private int utf8(String value) {
+
+    String key = "1:" + value;
+    Integer index = this.constants.get(key);
+    if (index == null) {
+      Bytes bytes = new Bytes();
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        if ((c >= 0x0001) && (c <= 0x007F)) {
+          bytes.u1(c);
+        } else if (c <= 0x07FF) {
+          bytes.u1(0xC0 | (c >> 6));
+          bytes.u1(0x80 | (c & 0x3F));
+        } else {
+          bytes.u1(0xE0 | (c >> 12));
+          bytes.u1(0x80 | ((c >> 6) & 0x3F));
+          bytes.u1(0x80 | (c & 0x3F));
+        }
+      }
+      this.pool.u1(1);
+      this.pool.u2(bytes.length);
+      this.pool.bytes(bytes);
+      index = add(key, 1);
+    }
+    return index.intValue();
+  }
+
+  private Integer add(String key, int slots) {
+
+    Integer index = Integer.valueOf(this.poolSize);
+    this.poolSize += slots;
+    this.constants.put(key, index);
+    return index;
+  }
+
+  /**
+   * @return the bytecode of the class.
+   */
+  byte[] toByteArray() {
+
+    Bytes bytes = new Bytes();
+    bytes.u4(0xCAFEBABE);
+    bytes.u2(0);
+    bytes.u2(CLASS_VERSION);
+    bytes.u2(this.poolSize);
+    bytes.bytes(this.pool);
+    bytes.u2(ACC_FINAL | ACC_SUPER);
+    bytes.u2(this.thisClass);
+    bytes.u2(this.superClass);
+    bytes.u2(this.interfaces.length);
+    for (int iface : this.interfaces) {
+      bytes.u2(iface);
+    }
+    bytes.u2(this.fieldCount);
+    bytes.bytes(this.fields);
+    bytes.u2(this.methodCount);
+    bytes.bytes(this.methods);
+    bytes.u2(0);
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Writer for the code of a single method. Tracks the stack depth to compute {@code max_stack}.
+   */
+  final class Code {
+
+    private final int nameIndex;
+
+    private final int descriptorIndex;
+
+    private final Bytes code;
+
+    private int stack;
+
+    private int maxStack;
+
+    private int maxLocals;
+
+    private Code(String name, MethodType type) {
+
+      super();
+      this.nameIndex = utf8(name);
+      this.descriptorIndex = utf8(type.toMethodDescriptorString());
+      this.code = new Bytes();
+      this.maxLocals = 1;
+      for (Class<?> parameter : type.parameterArray()) {
+        this.maxLocals += slots(parameter);
+      }
+    }
+
+    private void stack(int delta) {
+
+      this.stack += delta;
+      if (this.stack > this.maxStack) {
+        this.maxStack = this.stack;
+      }
+    }
+
+    /**
+     * @param index the index of the local variable to load.
+     * @param type the type of the local variable.
+     * @return the index of the next local variable.
+     */
+    int load(int index, Class<?> type) {
+
+      int opcode;
+      if (!type.isPrimitive()) {
+        opcode = 0x19; // aload
+      } else if (type == long.class) {
+        opcode = 0x16; // lload
+      } else if (type == float.class) {
+        opcode = 0x17; // fload
+      } else if (type == double.class) {
+        opcode = 0x18; // dload
+      } else {
+        opcode = 0x15; // iload
+      }
+      this.code.u1(opcode);
+      this.code.u1(index);
+      int slots = slots(type);
+      stack(slots);
+      return index + slots;
+    }
+
+    /**
+     * @param value the {@code int} constant to push.
+     */
+    void push(int value) {
+
+      if ((value >= -1) && (value <= 5)) {
+        this.code.u1(0x03 + value); // iconst_<n>
+      } else if ((value >= Byte.MIN_VALUE) && (value <= Byte.MAX_VALUE)) {
+        this.code.u1(0x10); // bipush
+        this.code.u1(value);
+      } else if ((value >= Short.MIN_VALUE) && (value <= Short.MAX_VALUE)) {
+        this.code.u1(0x11); // sipush
+        this.code.u2(value);
+      } else {
+        this.code.u1(0x13); // ldc_w
+        this.code.u2(integer(value));
+      }
+      stack(1);
+    }
+
+    /**
+     * Pushes {@code null}.
+     */
+    void pushNull() {
+
+      this.code.u1(0x01); // aconst_null
+      stack(1);
+    }
+
+    /**
+     * Duplicates the top of the stack.
+     */
+    void dup() {
+
+      this.code.u1(0x59); // dup
+      stack(1);
+    }
+
+    /**
+     * Pops the top of the stack.
+     */
+    void pop() {
+
+      this.code.u1(0x57); // pop
+      stack(-1);
+    }
+
+    /**
+     * @param type the component type of the new array.
+     */
+    void newArray(Class<?> type) {
+
+      this.code.u1(0xBD); // anewarray
+      this.code.u2(classRef(internalName(type)));
+    }
+
+    /**
+     * Stores a reference into an array.
+     */
+    void arrayStore() {
+
+      this.code.u1(0x53); // aastore
+      stack(-3);
+    }
+
+    /**
+     * @param type the {@link Class} to cast to.
+     */
+    void checkcast(Class<?> type) {
+
+      if (type != Object.class) {
+        this.code.u1(0xC0); // checkcast
+        this.code.u2(classRef(internalName(type)));
+      }
+    }
+
+    /**
+     * @param owner the internal name of the class declaring the field.
+     * @param name the field name.
+     * @param type the field type.
+     */
+    void getField(String owner, String name, Class<?> type) {
+
+      this.code.u1(0xB4); // getfield
+      this.code.u2(fieldRef(owner, name, type));
+      stack(slots(type) - 1);
+    }
+
+    /**
+     * @param owner the internal name of the class declaring the field.
+     * @param name the field name.
+     * @param type the field type.
+     */
+    void putField(String owner, String name, Class<?> type) {
+
+      this.code.u1(0xB5); // putfield
+      this.code.u2(fieldRef(owner, name, type));
+      stack(-1 - slots(type));
+    }
+
+    /**
+     * @param owner the class declaring the method.
+     * @param name the method name.
+     * @param type the {@link MethodType}.
+     */
+    void invokeStatic(Class<?> owner, String name, MethodType type) {
+
+      invoke(0xB8, 10, internalName(owner), name, type, false);
+    }
+
+    /**
+     * @param owner the class declaring the method.
+     * @param name the method name.
+     * @param type the {@link MethodType}.
+     */
+    void invokeVirtual(Class<?> owner, String name, MethodType type) {
+
+      invoke(0xB6, 10, internalName(owner), name, type, true);
+    }
+
+    /**
+     * @param owner the internal name of the class declaring the method.
+     * @param name the method name.
+     * @param type the {@link MethodType}.
+     */
+    void invokeSpecial(String owner, String name, MethodType type) {
+
+      invoke(0xB7, 10, owner, name, type, true);
+    }
+
+    private void invoke(int opcode, int tag, String owner, String name, MethodType type, boolean instance) {
+
+      this.code.u1(opcode);
+      this.code.u2(memberRef(tag, owner, name, type.toMethodDescriptorString()));
+      int delta = slots(type.returnType());
+      if (instance) {
+        delta--;
+      }
+      for (Class<?> parameter : type.parameterArray()) {
+        delta -= slots(parameter);
+      }
+      stack(delta);
+    }
+
+    /**
+     * Boxes the primitive value on the top of the stack.
+     *
+     * @param type the type of the value on the top of the stack.
+     */
+    void box(Class<?> type) {
+
+      if (type.isPrimitive()) {
+        Class<?> wrapper = MethodType.methodType(type).wrap().returnType();
+        invokeStatic(wrapper, "valueOf", MethodType.methodType(wrapper, type));
+      }
+    }
+
+    /**
+     * Returns the {@link Object} on the top of the stack converted to the given {@code type}.
+     *
+     * @param type the return type of the method.
+     */
+    void returnObject(Class<?> type) {
+
+      if (type == void.class) {
+        pop();
+        returnValue(type);
+        return;
+      }
+      if (type.isPrimitive()) {
+        Class<?> wrapper = MethodType.methodType(type).wrap().returnType();
+        checkcast(wrapper);
+        invokeVirtual(wrapper, type.getName() + "Value", MethodType.methodType(type));
+      } else {
+        checkcast(type);
+      }
+      returnValue(type);
+    }
+
+    /**
+     * Returns the value on the top of the stack.
+     *
+     * @param type the return type of the method.
+     */
+    void returnValue(Class<?> type) {
+
+      int opcode;
+      if (type == void.class) {
+        opcode = 0xB1; // return
+      } else if (!type.isPrimitive()) {
+        opcode = 0xB0; // areturn
+      } else if (type == long.class) {
+        opcode = 0xAD; // lreturn
+      } else if (type == float.class) {
+        opcode = 0xAE; // freturn
+      } else if (type == double.class) {
+        opcode = 0xAF; // dreturn
+      } else {
+        opcode = 0xAC; // ireturn
+      }
+      this.code.u1(opcode);
+      this.stack = 0;
+    }
+
+    /**
+     * Completes this method and adds it to the class.
+     */
+    void end() {
+
+      Bytes m = BeanProxyClassWriter.this.methods;
+      m.u2(ACC_PUBLIC);
+      m.u2(this.nameIndex);
+      m.u2(this.descriptorIndex);
+      m.u2(1);
+      m.u2(utf8("Code"));
+      m.u4(12 + this.code.length);
+      m.u2(this.maxStack);
+      m.u2(this.maxLocals);
+      m.u4(this.code.length);
+      m.bytes(this.code);
+      m.u2(0); // exception table
+      m.u2(0); // attributes
+      BeanProxyClassWriter.this.methodCount++;
+    }
+  }
+
+  private static int slots(Class<?> type) {
+
+    if (type == void.class) {
+      return 0;
+    } else if ((type == long.class) || (type == double.class)) {
+      return 2;
+    }
+    return 1;
+  }
+
+  private static final class Bytes {
+
+    private byte[] buffer;
+
+    private int length;
+
+    private Bytes() {
+
+      super();
+      this.buffer = new byte[256];
+    }
+
+    private void ensureCapacity(int additional) {
+
+      int capacity = this.length + additional;
+      if (capacity > this.buffer.length) {
+        this.buffer = Arrays.copyOf(this.buffer, Math.max(capacity, this.buffer.length * 2));
+      }
+    }
+
+    private void u1(int value) {
+
+      ensureCapacity(1);
+      this.buffer[this.length++] = (byte) value;
+    }
+
+    private void u2(int value) {
+
+      ensureCapacity(2);
+      this.buffer[this.length++] = (byte) (value >> 8);
+      this.buffer[this.length++] = (byte) value;
+    }
+
+    private void u4(int value) {
+
+      ensureCapacity(4);
+      this.buffer[this.length++] = (byte) (value >> 24);
+      this.buffer[this.length++] = (byte) (value >> 16);
+      this.buffer[this.length++] = (byte) (value >> 8);
+      this.buffer[this.length++] = (byte) value;
+    }
+
+    private void bytes(Bytes bytes) {
+
+      ensureCapacity(bytes.length);
+      System.arraycopy(bytes.buffer, 0, this.buffer, this.length, bytes.length);
+      this.length += bytes.length;
+    }
+
+    private byte[] toByteArray() {
+
+      return Arrays.copyOf(this.buffer, this.length);
+    }
+  }
+
+}
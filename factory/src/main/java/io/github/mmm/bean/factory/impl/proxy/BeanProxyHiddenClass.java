@@ -0,0 +1,411 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.bean.factory.impl.proxy;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.mmm.bean.WritableBean;
+import io.github.mmm.bean.factory.impl.operation.BeanOperation;
+import io.github.mmm.bean.factory.impl.operation.BeanOperationDefaultMethod;
+import io.github.mmm.bean.factory.impl.operation.BeanOperationGetter;
+import io.github.mmm.bean.factory.impl.operation.BeanOperationProperty;
+import io.github.mmm.bean.factory.impl.operation.BeanOperationSetter;
+import io.github.mmm.property.WritableProperty;
+
+/**
+ * Alternative to {@link java.lang.reflect.Proxy} for the instances of a {@link BeanProxyPrototype}. It defines a
+ * {@link MethodHandles.Lookup#defineHiddenClass(byte[], boolean, MethodHandles.Lookup.ClassOption...) hidden class}
+ * implementing the bean interfaces at runtime. The properties are held in a field of the generated class so property,
+ * getter and setter methods directly access them without the {@link Method} lookup of {@link BeanProxy#invoke(Object,
+ * Method, Object[]) BeanProxy.invoke}. All other methods are delegated to {@link BeanProxy#invoke(Object, Method,
+ * Object[]) BeanProxy.invoke} like a {@link java.lang.reflect.Proxy} does.
+ *
+ * @since 1.0.0
+ */
+public final class BeanProxyHiddenClass {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BeanProxyHiddenClass.class);
+
+  private static final Object[] NO_ARGS = new Object[0];
+
+  private static final String FIELD_HANDLER = "handler";
+
+  private static final String FIELD_PROPERTIES = "properties";
+
+  private static final MethodType TYPE_PROPERTY = MethodType.methodType(Object.class, BeanProxy.class,
+      WritableProperty[].class, int.class, Object.class, int.class);
+
+  private static final MethodType TYPE_SET = MethodType.methodType(void.class, BeanProxy.class,
+      WritableProperty[].class, int.class, Object.class, int.class, Object.class);
+
+  private static final MethodType TYPE_INVOKE = MethodType.methodType(Object.class, BeanProxy.class, Object.class,
+      int.class, Object[].class);
+
+  private final BeanProxyMethod[] methods;
+
+  private final MethodHandle constructor;
+
+  private final MethodHandle propertiesSetter;
+
+  private final Map<Method, MethodHandle> defaultMethods;
+
+  private BeanProxyHiddenClass(BeanProxyMethod[] methods, MethodHandle constructor, MethodHandle propertiesSetter,
+      Map<Method, MethodHandle> defaultMethods) {
+
+    super();
+    this.methods = methods;
+    this.constructor = constructor;
+    this.propertiesSetter = propertiesSetter;
+    this.defaultMethods = defaultMethods;
+  }
+
+  /**
+   * @param handler the {@link BeanProxy} to delegate to.
+   * @return the new instance of the hidden class.
+   */
+  WritableBean newInstance(BeanProxy handler) {
+
+    try {
+      return (WritableBean) (Object) this.constructor.invokeExact(handler);
+    } catch (Throwable e) {
+      throw new IllegalStateException("Failed to create instance of hidden bean class.", e);
+    }
+  }
+
+  /**
+   * @param proxy the instance of the hidden class.
+   * @param properties the properties in the order of the property operations of the {@link BeanProxyPrototype}.
+   */
+  void initProperties(WritableBean proxy, WritableProperty<?>[] properties) {
+
+    try {
+      this.propertiesSetter.invokeExact((Object) proxy, properties);
+    } catch (Throwable e) {
+      throw new IllegalStateException("Failed to initialize properties of hidden bean class.", e);
+    }
+  }
+
+  /**
+   * @param proxy the instance of the hidden class.
+   * @param method the {@link Method#isDefault() default} {@link Method} to invoke.
+   * @param args the method arguments.
+   * @return the result of the default method.
+   * @throws Throwable if the default method failed.
+   * @see java.lang.reflect.InvocationHandler#invokeDefault(Object, Method, Object...)
+   */
+  Object invokeDefault(Object proxy, Method method, Object[] args) throws Throwable {
+
+    MethodHandle handle = this.defaultMethods.get(method);
+    if (handle == null) {
+      throw new IllegalStateException("Default method " + method + " is not implemented by hidden bean class.");
+    }
+    Object[] arguments = new Object[args.length + 1];
+    arguments[0] = proxy;
+    System.arraycopy(args, 0, arguments, 1, args.length);
+    return handle.invokeWithArguments(arguments);
+  }
+
+  /**
+   * @param prototype the {@link BeanProxyPrototype}.
+   * @param propertyOperations the {@link BeanOperation}s of the properties in the order of the properties passed to
+   *        {@link #initProperties(WritableBean, WritableProperty[])}.
+   * @return the new {@link BeanProxyHiddenClass} or {@code null} if the interfaces can not be implemented by a hidden
+   *         class (e.g. because they are not public or not visible) so {@link java.lang.reflect.Proxy} has to be used.
+   */
+  static BeanProxyHiddenClass of(BeanProxyPrototype prototype, List<BeanOperation> propertyOperations) {
+
+    Class<?>[] interfaces = prototype.getInterfaces();
+    try {
+      List<Method> methodList = collectMethods(interfaces);
+      if (methodList == null) {
+        return null;
+      }
+      Map<String, Integer> propertyIndexMap = new HashMap<>(propertyOperations.size());
+      for (int i = 0; i < propertyOperations.size(); i++) {
+        propertyIndexMap.putIfAbsent(propertyOperations.get(i).getPropertyName(), Integer.valueOf(i));
+      }
+      String className = BeanProxyClassWriter.internalName(BeanProxyHiddenClass.class) + "$"
+          + interfaces[0].getSimpleName();
+      BeanProxyClassWriter writer = new BeanProxyClassWriter(className, interfaces);
+      writer.field(FIELD_HANDLER, BeanProxy.class, false);
+      writer.field(FIELD_PROPERTIES, WritableProperty[].class, true);
+      BeanProxyClassWriter.Code code = writer.method("<init>", MethodType.methodType(void.class, BeanProxy.class));
+      code.load(0, Object.class);
+      code.invokeSpecial("java/lang/Object", "<init>", MethodType.methodType(void.class));
+      code.load(0, Object.class);
+      code.load(1, BeanProxy.class);
+      code.putField(className, FIELD_HANDLER, BeanProxy.class);
+      code.returnValue(void.class);
+      code.end();
+      int methodCount = methodList.size();
+      BeanProxyMethod[] methods = new BeanProxyMethod[methodCount];
+      Map<Method, MethodHandle> defaultMethods = new HashMap<>();
+      for (int i = 0; i < methodCount; i++) {
+        Method method = methodList.get(i);
+        methods[i] = prototype.getMethod(method);
+        BeanOperation operation = prototype.getOperation(method);
+        if (method.isDefault()) {
+          if (operation instanceof BeanOperationDefaultMethod) {
+            continue; // not overridden so the default method is invoked directly
+          } else if (operation instanceof BeanOperationProperty) {
+            Class<?> declaringClass = method.getDeclaringClass();
+            MethodHandle handle = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup())
+                .unreflectSpecial(method, declaringClass);
+            defaultMethods.put(method, handle);
+          }
+        }
+        Integer propertyIndex = null;
+        if (operation != null) {
+          propertyIndex = propertyIndexMap.get(operation.getPropertyName());
+        }
+        writeMethod(writer, className, method, i, operation, propertyIndex);
+      }
+      MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(writer.toByteArray(), true);
+      Class<?> hiddenClass = lookup.lookupClass();
+      MethodHandle constructor = lookup
+          .findConstructor(hiddenClass, MethodType.methodType(void.class, BeanProxy.class))
+          .asType(MethodType.methodType(Object.class, BeanProxy.class));
+      MethodHandle propertiesSetter = lookup.findSetter(hiddenClass, FIELD_PROPERTIES, WritableProperty[].class)
+          .asType(MethodType.methodType(void.class, Object.class, WritableProperty[].class));
+      return new BeanProxyHiddenClass(methods, constructor, propertiesSetter, defaultMethods);
+    } catch (Throwable e) {
+      LOG.debug("Could not create hidden class for {} - falling back to dynamic proxy.", interfaces[0], e);
+      return null;
+    }
+  }
+
+  private static List<Method> collectMethods(Class<?>[] interfaces) throws ReflectiveOperationException {
+
+    Module module = BeanProxyHiddenClass.class.getModule();
+    Map<String, Method> methodMap = new LinkedHashMap<>();
+    Method[] objectMethods = { Object.class.getMethod("hashCode"), Object.class.getMethod("equals", Object.class),
+        Object.class.getMethod("toString") };
+    for (Method method : objectMethods) {
+      methodMap.put(getSignature(method), method);
+    }
+    for (Class<?> iface : interfaces) {
+      if (!isVisible(iface, module)) {
+        return null;
+      }
+      for (Method method : iface.getMethods()) {
+        if (Modifier.isStatic(method.getModifiers())) {
+          continue;
+        }
+        if (!isVisible(method.getReturnType(), module)) {
+          return null;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+          if (!isVisible(parameterType, module)) {
+            return null;
+          }
+        }
+        methodMap.putIfAbsent(getSignature(method), method);
+      }
+    }
+    return new ArrayList<>(methodMap.values());
+  }
+
+  private static String getSignature(Method method) {
+
+    return method.getName() + MethodType.methodType(method.getReturnType(), method.getParameterTypes())
+        .toMethodDescriptorString();
+  }
+
+  private static boolean isVisible(Class<?> type, Module module) {
+
+    while (type.isArray()) {
+      type = type.getComponentType();
+    }
+    if (type.isPrimitive()) {
+      return true;
+    }
+    if (!Modifier.isPublic(type.getModifiers())) {
+      return false;
+    }
+    Module typeModule = type.getModule();
+    if (!typeModule.isExported(type.getPackageName(), module)) {
+      return false;
+    }
+    try {
+      if (Class.forName(type.getName(), false, BeanProxyHiddenClass.class.getClassLoader()) != type) {
+        return false;
+      }
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+    module.addReads(typeModule);
+    return true;
+  }
+
+  private static void writeMethod(BeanProxyClassWriter writer, String className, Method method, int methodIndex,
+      BeanOperation operation, Integer propertyIndex) {
+
+    Class<?> returnType = method.getReturnType();
+    Class<?>[] parameterTypes = method.getParameterTypes();
+    BeanProxyClassWriter.Code code = writer.method(method.getName(),
+        MethodType.methodType(returnType, parameterTypes));
+    if ((propertyIndex != null) && (operation instanceof BeanOperationProperty) && (parameterTypes.length == 0)
+        && !returnType.isPrimitive()) {
+      loadPropertyAccess(code, className, methodIndex, propertyIndex.intValue());
+      code.invokeStatic(BeanProxyHiddenClass.class, "property", TYPE_PROPERTY);
+      code.returnObject(returnType);
+    } else if ((propertyIndex != null) && (operation instanceof BeanOperationGetter)
+        && (parameterTypes.length == 0) && (returnType != void.class)) {
+      loadPropertyAccess(code, className, methodIndex, propertyIndex.intValue());
+      code.invokeStatic(BeanProxyHiddenClass.class, "get", TYPE_PROPERTY);
+      code.returnObject(returnType);
+    } else if ((propertyIndex != null) && (operation instanceof BeanOperationSetter)
+        && (parameterTypes.length == 1) && ((returnType == void.class) || !returnType.isPrimitive())) {
+      loadPropertyAccess(code, className, methodIndex, propertyIndex.intValue());
+      code.load(1, parameterTypes[0]);
+      code.box(parameterTypes[0]);
+      code.invokeStatic(BeanProxyHiddenClass.class, "set", TYPE_SET);
+      if (returnType == void.class) {
+        code.returnValue(returnType);
+      } else {
+        code.pushNull();
+        code.returnValue(returnType);
+      }
+    } else {
+      code.load(0, Object.class);
+      code.getField(className, FIELD_HANDLER, BeanProxy.class);
+      code.load(0, Object.class);
+      code.push(methodIndex);
+      code.push(parameterTypes.length);
+      code.newArray(Object.class);
+      int local = 1;
+      for (int i = 0; i < parameterTypes.length; i++) {
+        code.dup();
+        code.push(i);
+        local = code.load(local, parameterTypes[i]);
+        code.box(parameterTypes[i]);
+        code.arrayStore();
+      }
+      code.invokeStatic(BeanProxyHiddenClass.class, "invoke", TYPE_INVOKE);
+      code.returnObject(returnType);
+    }
+    code.end();
+  }
+
+  private static void loadPropertyAccess(BeanProxyClassWriter.Code code, String className, int methodIndex,
+      int propertyIndex) {
+
+    code.load(0, Object.class);
+    code.getField(className, FIELD_HANDLER, BeanProxy.class);
+    code.load(0, Object.class);
+    code.getField(className, FIELD_PROPERTIES, WritableProperty[].class);
+    code.push(propertyIndex);
+    code.load(0, Object.class);
+    code.push(methodIndex);
+  }
+
+  /**
+   * Implementation of a property method called from the generated hidden class.
+   *
+   * @param handler the {@link BeanProxy}.
+   * @param properties the properties or {@code null} if not initialized (e.g. for a read-only view).
+   * @param propertyIndex the index of the property in {@code properties}.
+   * @param proxy the instance of the hidden class.
+   * @param methodIndex the index of the invoked {@link Method}.
+   * @return the property.
+   */
+  static Object property(BeanProxy handler, WritableProperty<?>[] properties, int propertyIndex, Object proxy,
+      int methodIndex) {
+
+    if (properties != null) {
+      return properties[propertyIndex];
+    }
+    return invoke(handler, proxy, methodIndex, NO_ARGS);
+  }
+
+  /**
+   * Implementation of a getter method called from the generated hidden class.
+   *
+   * @param handler the {@link BeanProxy}.
+   * @param properties the properties or {@code null} if not initialized (e.g. for a read-only view).
+   * @param propertyIndex the index of the property in {@code properties}.
+   * @param proxy the instance of the hidden class.
+   * @param methodIndex the index of the invoked {@link Method}.
+   * @return the property value.
+   */
+  static Object get(BeanProxy handler, WritableProperty<?>[] properties, int propertyIndex, Object proxy,
+      int methodIndex) {
+
+    if (properties != null) {
+      Object value = properties[propertyIndex].get();
+      if (value != null) {
+        return value;
+      }
+    }
+    // delegate to operation for default value of primitive getters
+    return invoke(handler, proxy, methodIndex, NO_ARGS);
+  }
+
+  /**
+   * Implementation of a setter method called from the generated hidden class.
+   *
+   * @param handler the {@link BeanProxy}.
+   * @param properties the properties or {@code null} if not initialized (e.g. for a read-only view).
+   * @param propertyIndex the index of the property in {@code properties}.
+   * @param proxy the instance of the hidden class.
+   * @param methodIndex the index of the invoked {@link Method}.
+   * @param value the new property value.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  static void set(BeanProxy handler, WritableProperty[] properties, int propertyIndex, Object proxy, int methodIndex,
+      Object value) {
+
+    if (properties != null) {
+      properties[propertyIndex].set(value);
+    } else {
+      invoke(handler, proxy, methodIndex, new Object[] { value });
+    }
+  }
+
+  /**
+   * Generic method implementation called from the generated hidden class. Delegates to
+   * {@link BeanProxy#invoke(Object, Method, Object[])} like a {@link java.lang.reflect.Proxy} does.
+   *
+   * @param handler the {@link BeanProxy}.
+   * @param proxy the instance of the hidden class.
+   * @param methodIndex the index of the invoked {@link Method}.
+   * @param args the method arguments.
+   * @return the result of the method.
+   */
+  static Object invoke(BeanProxy handler, Object proxy, int methodIndex, Object[] args) {
+
+    BeanProxyMethod method = handler.getPrototype().getHiddenClass().methods[methodIndex];
+    try {
+      return handler.invoke(method, args);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      for (Class<?> exceptionType : method.getMethod().getExceptionTypes()) {
+        if (exceptionType.isInstance(e)) {
+          throw BeanProxyHiddenClass.<RuntimeException> sneakyThrow(e);
+        }
+      }
+      throw new UndeclaredThrowableException(e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <E extends Throwable> E sneakyThrow(Throwable e) throws E {
+
+    throw (E) e;
+  }
+
+}
@@ -3,6 +3,7 @@
 package io.github.mmm.bean.factory.impl.proxy;
 
 import io.github.mmm.bean.WritableBean;
+import io.github.mmm.property.WritableProperty;
 
 /**
  * {@link BeanProxy} for a regular bean instance (that is not a {@link WritableBean#isPrototype() prototype}).
@@ -22,6 +23,8 @@ public final class BeanProxyInstance extends BeanProxy {
   public BeanProxyInstance(BeanProxy proxy) {
 
     this(proxy.proxy, proxy.getPrototype());
+    // slots of read-only view are filled lazily
+    this.properties = new WritableProperty<?>[this.prototype.getSlotCount()];
   }
 
   /**
@@ -37,7 +40,7 @@ public final class BeanProxyInstance extends BeanProxy {
 
   private BeanProxyInstance(WritableBean writable, BeanProxyPrototype prototype) {
 
-    super(prototype.beanFactory, writable, prototype.beanType, prototype.interfaces);
+    super(prototype, writable);
     this.prototype = prototype;
     this.bean.setPolymorphic(this.proxy.isPolymorphic());
   }
@@ -0,0 +1,78 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.bean.factory.impl.proxy;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+
+import io.github.mmm.bean.factory.impl.operation.BeanOperation;
+
+/**
+ * Entry of the dispatch table of a {@link BeanProxyPrototype} for a single {@link Method}. It is resolved once and
+ * then either invokes the according {@link BeanOperation} or delegates to the
+ * {@link BeanProxy#getBean() bean implementation} via a cached {@link MethodHandle}.
+ */
+final class BeanProxyMethod {
+
+  private final Method method;
+
+  private final BeanOperation operation;
+
+  private final MethodHandle handle;
+
+  /**
+   * The constructor.
+   *
+   * @param method the {@link #getMethod() method}.
+   * @param operation the {@link BeanOperation} for the given {@link Method} or {@code null} to delegate to the
+   *        {@link BeanProxy#getBean() bean implementation}.
+   */
+  BeanProxyMethod(Method method, BeanOperation operation) {
+
+    super();
+    this.method = method;
+    this.operation = operation;
+    if (operation == null) {
+      this.handle = createHandle(method);
+    } else {
+      this.handle = null;
+    }
+  }
+
+  private static MethodHandle createHandle(Method method) {
+
+    try {
+      MethodHandle handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+      return handle.asType(handle.type().generic()).asSpreader(Object[].class, method.getParameterCount());
+    } catch (IllegalAccessException e) {
+      // fallback to reflection
+      return null;
+    }
+  }
+
+  /**
+   * @return the {@link Method} to dispatch.
+   */
+  Method getMethod() {
+
+    return this.method;
+  }
+
+  /**
+   * @param proxy the {@link BeanProxy} to invoke the {@link #getMethod() method} on.
+   * @param args the method arguments. May be {@code null} for no arguments.
+   * @return the result of the invocation.
+   * @throws Throwable if the invocation failed.
+   */
+  Object invoke(BeanProxy proxy, Object[] args) throws Throwable {
+
+    if (this.operation != null) {
+      return this.operation.invoke(proxy, args);
+    } else if (this.handle != null) {
+      return this.handle.invokeExact((Object) proxy.bean, args);
+    }
+    return this.method.invoke(proxy.bean, args);
+  }
+
+}
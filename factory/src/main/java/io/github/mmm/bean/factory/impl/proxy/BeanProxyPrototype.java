@@ -3,9 +3,12 @@
 package io.github.mmm.bean.factory.impl.proxy;
 
 import java.lang.reflect.Method;
-import java.util.Collection;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 
 import io.github.mmm.bean.AdvancedBean;
@@ -16,9 +19,12 @@ import io.github.mmm.bean.factory.impl.BeanInterfaceCreator;
 import io.github.mmm.bean.factory.impl.BeanIntrospector;
 import io.github.mmm.bean.factory.impl.MemoryCache;
 import io.github.mmm.bean.factory.impl.operation.BeanOperation;
+import io.github.mmm.bean.factory.impl.operation.BeanOperationOnProperty;
 import io.github.mmm.bean.factory.impl.operation.BeanOperationProperty;
+import io.github.mmm.bean.impl.AbstractBeanType;
 import io.github.mmm.bean.impl.BeanClassImpl;
 import io.github.mmm.bean.impl.BeanTypeImpl;
+import io.github.mmm.property.PropertyMetadata;
 import io.github.mmm.property.WritableProperty;
 
 /**
@@ -28,11 +34,29 @@ import io.github.mmm.property.WritableProperty;
  */
 public class BeanProxyPrototype extends BeanProxy {
 
-  private static final MemoryCache<BeanType, BeanProxyPrototype> cache = new MemoryCache<>();
+  /**
+   * Name of the system property for the {@link MemoryCache.RetentionPolicy} of the {@link #getCache() prototype cache}.
+   * Defaults to {@link MemoryCache.RetentionPolicy#SOFT}.
+   */
+  public static final String PROPERTY_CACHE_RETENTION = "mmm.bean.prototype-cache.retention";
+
+  /**
+   * Name of the system property for the minimum time to live in seconds of a {@link #getCache() cached} prototype in
+   * case of {@link MemoryCache.RetentionPolicy#WEAK}. Defaults to {@code 60}.
+   */
+  public static final String PROPERTY_CACHE_TTL = "mmm.bean.prototype-cache.ttl";
+
+  private static final MemoryCache<BeanType, BeanProxyPrototype> cache = newCache();
+
+  /** Separate cache so the mode of a prototype does not depend on the {@link BeanInterfaceCreator} used first. */
+  private static final MemoryCache<BeanType, BeanProxyPrototype> hiddenClassCache = newCache();
 
   private final Map<Method, BeanOperation> method2operationMap;
 
-  private Collection<BeanOperation> propertyOperations;
+  /** Dispatch table by {@link Method} identity, replaced on modification (copy-on-write). */
+  private volatile Map<Method, BeanProxyMethod> method2dispatchMap;
+
+  private List<BeanOperation> propertyOperations;
 
   /** @see #getBeanType() */
   protected final BeanType beanType;
@@ -42,6 +66,11 @@ public class BeanProxyPrototype extends BeanProxy {
 
   private boolean baseMethodsInitialized;
 
+  private final BeanProxyHiddenClass hiddenClass;
+
+  /** The {@link #getEmpty() empty} instance, created lazily. */
+  private volatile WritableBean empty;
+
   /**
    * The constructor.
    *
@@ -54,27 +83,114 @@ public class BeanProxyPrototype extends BeanProxy {
     super(beanFactory, null, beanType, interfaces);
     this.beanType = beanType;
     this.method2operationMap = new HashMap<>();
+    this.method2dispatchMap = new IdentityHashMap<>();
     this.interfaces = interfaces;
     this.propertyOperations = getPropertyOperations();
+    resolveSlots();
     initProperties(this);
     this.bean.setPolymorphic(this.proxy.isPolymorphic());
+    if (beanFactory.isHiddenClasses()) {
+      this.hiddenClass = BeanProxyHiddenClass.of(this, this.propertyOperations);
+    } else {
+      this.hiddenClass = null;
+    }
+  }
+
+  private void resolveSlots() {
+
+    Map<String, Integer> slotMap = new HashMap<>(this.propertyOperations.size());
+    for (int i = 0; i < this.propertyOperations.size(); i++) {
+      slotMap.putIfAbsent(this.propertyOperations.get(i).getPropertyName(), Integer.valueOf(i));
+    }
+    for (BeanOperation operation : this.method2operationMap.values()) {
+      if (operation instanceof BeanOperationOnProperty) {
+        Integer slot = slotMap.get(operation.getPropertyName());
+        if (slot != null) {
+          ((BeanOperationOnProperty) operation).resolveSlot(slot.intValue());
+        }
+      }
+    }
   }
 
   /**
+   * @return the number of property slots.
+   * @see BeanProxy#getProperty(io.github.mmm.bean.PropertyHandle)
+   */
+  int getSlotCount() {
+
+    return this.propertyOperations.size();
+  }
+
+  /**
+   * Initializes all properties of the given {@link BeanProxy}. For this prototype itself the properties are created
+   * from the {@link BeanOperation}s. For any other instance the properties of this prototype are used as template and
+   * copied with only the {@link PropertyMetadata#getLock() lock} rebound to the new instance unless they are
+   * {@link BeanOperation#isPropertyBound() bound} to the proxy they were created for.
+   *
    * @param beanProxy the {@link BeanProxy} where to initialise all properties.
    */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
   void initProperties(BeanProxy beanProxy) {
 
-    for (BeanOperation operation : this.propertyOperations) {
-      WritableProperty<?> property = operation.createProperty(beanProxy);
-      beanProxy.bean.addProperty(property);
+    WritableProperty<?>[] properties = new WritableProperty<?>[this.propertyOperations.size()];
+    if (beanProxy == this) {
+      int i = 0;
+      for (BeanOperation operation : this.propertyOperations) {
+        WritableProperty<?> property = operation.createProperty(beanProxy);
+        properties[i++] = beanProxy.bean.addProperty(property);
+      }
+    } else {
+      WritableProperty[] template = this.properties;
+      for (int i = 0; i < template.length; i++) {
+        BeanOperation operation = this.propertyOperations.get(i);
+        WritableProperty<?> property;
+        if (operation.isPropertyBound()) {
+          // e.g. expression of default method capturing the proxy must not point to this prototype
+          property = operation.createProperty(beanProxy);
+        } else {
+          PropertyMetadata metadata = template[i].getMetadata().withLock(beanProxy.proxy);
+          property = WritableProperty.copy(template[i], null, metadata);
+        }
+        properties[i] = beanProxy.bean.addProperty(property);
+      }
+    }
+    if ((beanProxy == this) || !(this.beanType instanceof AbstractBeanType)) {
+      // otherwise aliases are stored in the type and already registered by the prototype
+      for (BeanOperation operation : this.propertyOperations) {
+        operation.registerAliases(beanProxy.bean);
+      }
+      if (this.beanType instanceof AbstractBeanType type) {
+        type.freezeAliases(beanProxy.bean);
+      }
+    }
+    beanProxy.properties = properties;
+    if ((this.hiddenClass != null) && (beanProxy != this)) {
+      this.hiddenClass.initProperties(beanProxy.proxy, properties);
     }
-    for (BeanOperation operation : this.propertyOperations) {
-      operation.registerAliases(beanProxy.bean);
+  }
+
+  /**
+   * @param handler the {@link BeanProxy} to create the proxy instance for.
+   * @return the new proxy instance delegating to the given {@link BeanProxy}.
+   */
+  WritableBean createProxy(BeanProxy handler) {
+
+    if (this.hiddenClass != null) {
+      return this.hiddenClass.newInstance(handler);
     }
+    return this.beanFactory.createProxy(handler, this.interfaces);
+  }
+
+  /**
+   * @return the {@link BeanProxyHiddenClass} used for the instances or {@code null} if {@link java.lang.reflect.Proxy}
+   *         is used.
+   */
+  BeanProxyHiddenClass getHiddenClass() {
+
+    return this.hiddenClass;
   }
 
-  private Collection<BeanOperation> getPropertyOperations() {
+  private List<BeanOperation> getPropertyOperations() {
 
     BeanIntrospector introspector = null;
     for (Class<?> beanInterface : this.interfaces) {
@@ -86,7 +202,7 @@ public class BeanProxyPrototype extends BeanProxy {
     if (introspector == null) {
       return Collections.emptyList();
     } else {
-      return introspector.getPropertyOperations();
+      return new ArrayList<>(introspector.getPropertyOperations());
     }
   }
 
@@ -151,6 +267,33 @@ public class BeanProxyPrototype extends BeanProxy {
     return this.method2operationMap.get(method);
   }
 
+  /**
+   * @param method the invoked {@link Method}.
+   * @return the {@link BeanProxyMethod} to dispatch the invocation. Dynamic proxies pass the same {@link Method}
+   *         instances for each invocation so after warm-up this is a lookup by identity without
+   *         {@link Method#hashCode()} or {@link Method#equals(Object)}.
+   */
+  BeanProxyMethod getMethod(Method method) {
+
+    BeanProxyMethod proxyMethod = this.method2dispatchMap.get(method);
+    if (proxyMethod == null) {
+      proxyMethod = addMethod(method);
+    }
+    return proxyMethod;
+  }
+
+  private synchronized BeanProxyMethod addMethod(Method method) {
+
+    BeanProxyMethod proxyMethod = this.method2dispatchMap.get(method);
+    if (proxyMethod == null) {
+      proxyMethod = new BeanProxyMethod(method, this.method2operationMap.get(method));
+      Map<Method, BeanProxyMethod> map = new IdentityHashMap<>(this.method2dispatchMap);
+      map.put(method, proxyMethod);
+      this.method2dispatchMap = map;
+    }
+    return proxyMethod;
+  }
+
   /**
    * @return the new {@link BeanProxyInstance} of this prototype.
    */
@@ -159,6 +302,26 @@ public class BeanProxyPrototype extends BeanProxy {
     return new BeanProxyInstance(this);
   }
 
+  /**
+   * @return the {@link WritableBean#isReadOnly() read-only} empty instance of this prototype. Created only once and
+   *         then shared by all callers.
+   * @see io.github.mmm.bean.BeanCreator#getEmpty(Class)
+   */
+  public WritableBean getEmpty() {
+
+    WritableBean result = this.empty;
+    if (result == null) {
+      synchronized (this) {
+        result = this.empty;
+        if (result == null) {
+          result = newInstance().getProxy().getReadOnly();
+          this.empty = result;
+        }
+      }
+    }
+    return result;
+  }
+
   /**
    * @param type the {@link BeanType} of the requested prototype.
    * @param beanFactory the {@link BeanInterfaceCreator}.
@@ -169,7 +332,7 @@ public class BeanProxyPrototype extends BeanProxy {
 
     BeanType beanType;
     if (VirtualBean.class.isAssignableFrom(type)) {
-      beanType = BeanClassImpl.getClass(type.getName());
+      beanType = BeanClassImpl.getClass((Class<? extends VirtualBean>) type);
       if (beanType == null) {
         for (Class<?> superType : type.getInterfaces()) {
           if ((VirtualBean.class.isAssignableFrom(superType)) && (VirtualBean.class != superType)) {
@@ -191,7 +354,39 @@ public class BeanProxyPrototype extends BeanProxy {
    */
   public static BeanProxyPrototype get(BeanType type, BeanInterfaceCreator beanFactory) {
 
-    return cache.get(type, () -> new BeanProxyPrototype(beanFactory, type, type.getJavaClasses()));
+    return getCache(beanFactory.isHiddenClasses()).get(type,
+        () -> new BeanProxyPrototype(beanFactory, type, type.getJavaClasses()));
+  }
+
+  /**
+   * @return the {@link MemoryCache} of the {@link BeanProxyPrototype}s using {@link java.lang.reflect.Proxy dynamic
+   *         proxies} e.g. to monitor the {@link MemoryCache#getHitCount() hits} and
+   *         {@link MemoryCache#getRebuildCount() rebuilds}.
+   */
+  public static MemoryCache<BeanType, BeanProxyPrototype> getCache() {
+
+    return cache;
+  }
+
+  /**
+   * @param hiddenClasses the {@link BeanInterfaceCreator#isHiddenClasses() hidden classes} flag.
+   * @return the {@link MemoryCache} of the {@link BeanProxyPrototype}s created by {@link BeanInterfaceCreator}s with
+   *         the given {@link BeanInterfaceCreator#isHiddenClasses() hidden classes} flag.
+   * @see #getCache()
+   */
+  public static MemoryCache<BeanType, BeanProxyPrototype> getCache(boolean hiddenClasses) {
+
+    if (hiddenClasses) {
+      return hiddenClassCache;
+    }
+    return cache;
+  }
+
+  private static MemoryCache<BeanType, BeanProxyPrototype> newCache() {
+
+    return new MemoryCache<>(
+        MemoryCache.RetentionPolicy.of(System.getProperty(PROPERTY_CACHE_RETENTION), MemoryCache.RetentionPolicy.SOFT),
+        Duration.ofSeconds(Long.getLong(PROPERTY_CACHE_TTL, 60)));
   }
 
 }
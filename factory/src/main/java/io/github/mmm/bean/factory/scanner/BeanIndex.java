@@ -0,0 +1,123 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.bean.factory.scanner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import io.github.mmm.bean.WritableBean;
+
+/**
+ * Index of the {@link WritableBean bean} interfaces and classes of a module created at build-time. If a module contains
+ * this index as resource at {@link #PATH}, the {@link BeanScanner} reads the index instead of scanning all the
+ * class-files of the module. The index is a simple text-file in UTF-8 with one bean per line in the form
+ * "{@code I <qualified-name>}" for interfaces and "{@code C <qualified-name>}" for classes. Empty lines and lines
+ * starting with '#' are ignored.
+ *
+ * @since 1.0.0
+ */
+public class BeanIndex {
+
+  /** The path of the index resource inside a module. */
+  public static final String PATH = "META-INF/mmm-beans.idx";
+
+  private static final char PREFIX_INTERFACE = 'I';
+
+  private static final char PREFIX_CLASS = 'C';
+
+  private final Set<String> interfaceNames;
+
+  private final Set<String> classNames;
+
+  /**
+   * The constructor.
+   *
+   * @param interfaceNames the {@link #getInterfaceNames() interface names}.
+   * @param classNames the {@link #getClassNames() class names}.
+   */
+  public BeanIndex(Collection<String> interfaceNames, Collection<String> classNames) {
+
+    super();
+    this.interfaceNames = Set.copyOf(interfaceNames);
+    this.classNames = Set.copyOf(classNames);
+  }
+
+  /**
+   * @return the {@link Set} with the {@link Class#getName() qualified names} of the bean interfaces.
+   */
+  public Set<String> getInterfaceNames() {
+
+    return this.interfaceNames;
+  }
+
+  /**
+   * @return the {@link Set} with the {@link Class#getName() qualified names} of the bean classes.
+   */
+  public Set<String> getClassNames() {
+
+    return this.classNames;
+  }
+
+  /**
+   * @param writer the {@link Writer} where to write this index to. Entries are sorted so the output is reproducible.
+   * @throws IOException on error.
+   */
+  public void write(Writer writer) throws IOException {
+
+    writer.write("# mmm bean index - generated, do not edit\n");
+    write(writer, PREFIX_INTERFACE, this.interfaceNames);
+    write(writer, PREFIX_CLASS, this.classNames);
+  }
+
+  private static void write(Writer writer, char prefix, Set<String> names) throws IOException {
+
+    for (String name : new TreeSet<>(names)) {
+      writer.write(prefix);
+      writer.write(' ');
+      writer.write(name);
+      writer.write('\n');
+    }
+  }
+
+  /**
+   * @param reader the {@link Reader} to read the index from.
+   * @return the {@link BeanIndex} that has been read.
+   * @throws IOException on error.
+   * @throws IllegalArgumentException if the index is malformed.
+   */
+  public static BeanIndex read(Reader reader) throws IOException {
+
+    Set<String> interfaceNames = new LinkedHashSet<>();
+    Set<String> classNames = new LinkedHashSet<>();
+    BufferedReader bufferedReader = new BufferedReader(reader);
+    String line = bufferedReader.readLine();
+    int lineNumber = 1;
+    while (line != null) {
+      line = line.trim();
+      if (!line.isEmpty() && (line.charAt(0) != '#')) {
+        if ((line.length() < 3) || (line.charAt(1) != ' ')) {
+          throw new IllegalArgumentException("Malformed bean index at line " + lineNumber + ": " + line);
+        }
+        char prefix = line.charAt(0);
+        String name = line.substring(2).trim();
+        if (prefix == PREFIX_INTERFACE) {
+          interfaceNames.add(name);
+        } else if (prefix == PREFIX_CLASS) {
+          classNames.add(name);
+        } else {
+          throw new IllegalArgumentException("Malformed bean index at line " + lineNumber + ": " + line);
+        }
+      }
+      line = bufferedReader.readLine();
+      lineNumber++;
+    }
+    return new BeanIndex(interfaceNames, classNames);
+  }
+
+}
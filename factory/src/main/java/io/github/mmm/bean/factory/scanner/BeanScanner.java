@@ -2,9 +2,23 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.bean.factory.scanner;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.module.ModuleReader;
+import java.lang.module.ResolvedModule;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,7 +33,8 @@ import io.github.mmm.bean.VirtualBean;
 import io.github.mmm.bean.WritableBean;
 
 /**
- * Scans the module-path for {@link WritableBean bean} classes and interfaces.
+ * Scans the module-path for {@link WritableBean bean} classes and interfaces. If a module contains a {@link BeanIndex}
+ * created at build-time, the index is used and the class-files of that module are not scanned.
  *
  * @since 1.0.0
  */
@@ -30,34 +45,211 @@ public class BeanScanner {
   private static final Set<String> BEAN_INTERFACE_NAMES = Set.of(WritableBean.class.getName(),
       VirtualBean.class.getName());
 
+  /**
+   * Name of the system property to enable parallel scanning of modules for the default constructor of
+   * {@link BeanScanner}.
+   */
+  public static final String PROPERTY_PARALLEL = "mmm.bean.scanner.parallel";
+
   private Set<Class<?>> beanInterfaces;
 
   private Set<Class<?>> beanClasses;
 
   /**
-   * The constructor.
+   * The constructor. Scans in {@link #BeanScanner(ForkJoinPool) parallel} using the
+   * {@link ForkJoinPool#commonPool() common pool} if the system property {@link #PROPERTY_PARALLEL} is {@code true}.
    */
   public BeanScanner() {
 
+    this(Boolean.getBoolean(PROPERTY_PARALLEL) ? ForkJoinPool.commonPool() : null);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param pool the {@link ForkJoinPool} used to scan the modules concurrently or {@code null} to scan the modules one
+   *        after the other on the calling thread.
+   */
+  public BeanScanner(ForkJoinPool pool) {
+
     super();
-    this.beanInterfaces = new HashSet<>(128);
-    this.beanClasses = new HashSet<>(128);
+    long start = System.nanoTime();
+    Collection<ModuleAccess> modules = ModuleScanner.get().getAll();
+    if (pool == null) {
+      this.beanInterfaces = new HashSet<>(128);
+      this.beanClasses = new HashSet<>(128);
+      scanSequential(modules);
+    } else {
+      this.beanInterfaces = ConcurrentHashMap.newKeySet(128);
+      this.beanClasses = ConcurrentHashMap.newKeySet(128);
+      scanParallel(modules, pool);
+    }
+    this.beanInterfaces = Set.copyOf(this.beanInterfaces);
+    this.beanClasses = Set.copyOf(this.beanClasses);
+    LOG.debug("Found {} bean interfaces and {} bean classes in {}ms", this.beanInterfaces.size(),
+        this.beanClasses.size(), Long.valueOf((System.nanoTime() - start) / 1_000_000));
+  }
+
+  private static boolean isScanRequired(ModuleAccess moduleAccess) {
+
+    if (moduleAccess.isInternalModule()) {
+      return false;
+    }
+    String name = moduleAccess.getResolved().name();
+    return !name.startsWith("ch.qos") && !name.startsWith("org.slf4j");
+  }
+
+  private void scanSequential(Collection<ModuleAccess> modules) {
+
     HashSet<String> inclusions = new HashSet<>(BEAN_INTERFACE_NAMES);
     HashSet<String> exclusions = new HashSet<>();
-    Collection<ModuleAccess> modules = ModuleScanner.get().getAll();
     for (ModuleAccess moduleAccess : modules) {
-      if (!moduleAccess.isInternalModule()) {
-        String name = moduleAccess.getResolved().name();
-        if (!name.startsWith("ch.qos") && !name.startsWith("org.slf4j")) {
-          LOG.debug("Scanning module {} for beans...", name);
-          exclusions.clear();
-          ResourceMap resources = moduleAccess.findResources();
-          resources.getTypes().forEach(type -> scanType(type, resources, inclusions, exclusions));
+      if (isScanRequired(moduleAccess) && !loadIndex(moduleAccess.getResolved(), inclusions)) {
+        LOG.debug("Scanning module {} for beans...", moduleAccess.getResolved().name());
+        exclusions.clear();
+        ResourceMap resources = moduleAccess.findResources();
+        resources.getTypes().forEach(type -> scanType(type, resources, inclusions, exclusions));
+      }
+    }
+  }
+
+  /**
+   * Scans the modules concurrently. As a module may be scanned before the modules containing its super-types, each
+   * module only collects its {@link BeanCandidate candidates}. Afterwards the candidates are resolved across all
+   * modules and finally the resulting beans are loaded.
+   */
+  private void scanParallel(Collection<ModuleAccess> modules, ForkJoinPool pool) {
+
+    Set<String> inclusions = ConcurrentHashMap.newKeySet(256);
+    inclusions.addAll(BEAN_INTERFACE_NAMES);
+    Map<String, BeanCandidate> candidates = new ConcurrentHashMap<>(1024);
+    pool.submit(() -> modules.parallelStream().filter(BeanScanner::isScanRequired).forEach(moduleAccess -> {
+      if (!loadIndex(moduleAccess.getResolved(), inclusions)) {
+        LOG.debug("Scanning module {} for beans...", moduleAccess.getResolved().name());
+        moduleAccess.findResources().getTypes().forEach(type -> collectCandidate(type, candidates));
+      }
+    })).join();
+    Map<String, Boolean> resolved = new HashMap<>(candidates.size());
+    List<BeanCandidate> beans = new ArrayList<>();
+    for (BeanCandidate candidate : candidates.values()) {
+      if (resolve(candidate.name, candidates, inclusions, resolved)) {
+        beans.add(candidate);
+      }
+    }
+    pool.submit(() -> beans.parallelStream().forEach(this::loadCandidate)).join();
+  }
+
+  private static void collectCandidate(ResourceType type, Map<String, BeanCandidate> candidates) {
+
+    if (type.isInnerType() || type.isPackageInfo() || type.isModuleInfo() || !type.getParent().isOpen()) {
+      return; // fast exclusion
+    }
+    JavaType javaType;
+    try {
+      javaType = type.loadType();
+    } catch (Throwable e) {
+      LOG.warn("Failed to fast-scan class-file for type {}: {}", type, e.getMessage(), e);
+      return;
+    }
+    JavaTypeKind kind = javaType.getKind();
+    String[] parents;
+    if (!javaType.isPublic()) {
+      parents = null;
+    } else if (kind.isInterface()) {
+      int interfaceCount = javaType.getInterfaceCount();
+      parents = new String[interfaceCount];
+      for (int i = 0; i < interfaceCount; i++) {
+        parents[i] = javaType.getInterface(i);
+      }
+    } else if (kind.isClass()) {
+      parents = new String[] { javaType.getSuperClass() };
+    } else {
+      parents = null;
+    }
+    if (parents != null) {
+      candidates.put(type.getName(), new BeanCandidate(type, kind.isInterface(), parents));
+    }
+  }
+
+  private static boolean resolve(String name, Map<String, BeanCandidate> candidates, Set<String> inclusions,
+      Map<String, Boolean> resolved) {
+
+    if (name == null) {
+      return false;
+    } else if (inclusions.contains(name)) {
+      return true;
+    }
+    Boolean result = resolved.get(name);
+    if (result == null) {
+      BeanCandidate candidate = candidates.get(name);
+      result = Boolean.FALSE;
+      if (candidate != null) {
+        resolved.put(name, Boolean.FALSE); // guard against cycles
+        for (String parent : candidate.parents) {
+          if (resolve(parent, candidates, inclusions, resolved)) {
+            result = Boolean.TRUE;
+            break;
+          }
         }
       }
+      resolved.put(name, result);
+    }
+    return result.booleanValue();
+  }
+
+  private void loadCandidate(BeanCandidate candidate) {
+
+    try {
+      Class<?> beanClass = candidate.type.loadClass();
+      if (candidate.isInterface) {
+        this.beanInterfaces.add(beanClass);
+      } else {
+        this.beanClasses.add(beanClass);
+      }
+      LOG.debug("Found bean {}", candidate.name);
+    } catch (Throwable e) {
+      LOG.warn("Failed to load class for type {}: {}", candidate.type, e.getMessage(), e);
+    }
+  }
+
+  private boolean loadIndex(ResolvedModule resolvedModule, Set<String> inclusions) {
+
+    String name = resolvedModule.name();
+    Optional<Module> module = ModuleLayer.boot().findModule(name);
+    if (module.isEmpty()) {
+      return false;
+    }
+    BeanIndex index;
+    try (ModuleReader moduleReader = resolvedModule.reference().open()) {
+      Optional<InputStream> indexStream = moduleReader.open(BeanIndex.PATH);
+      if (indexStream.isEmpty()) {
+        return false;
+      }
+      try (Reader reader = new InputStreamReader(indexStream.get(), StandardCharsets.UTF_8)) {
+        index = BeanIndex.read(reader);
+      }
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Failed to read bean index of module {} - falling back to scanning: {}", name, e.getMessage(), e);
+      return false;
+    }
+    LOG.debug("Loading beans of module {} from index...", name);
+    loadIndexed(module.get(), index.getInterfaceNames(), this.beanInterfaces, inclusions);
+    loadIndexed(module.get(), index.getClassNames(), this.beanClasses, inclusions);
+    return true;
+  }
+
+  private static void loadIndexed(Module module, Set<String> names, Set<Class<?>> beans, Set<String> inclusions) {
+
+    for (String name : names) {
+      Class<?> beanClass = Class.forName(module, name);
+      if (beanClass == null) {
+        LOG.debug("Ignoring bean {} from index that is not contained in module {}", name, module.getName());
+      } else {
+        inclusions.add(name);
+        beans.add(beanClass);
+        LOG.debug("Found bean {}", name);
+      }
     }
-    this.beanInterfaces = Set.copyOf(this.beanInterfaces);
-    this.beanClasses = Set.copyOf(this.beanClasses);
   }
 
   private boolean scanType(ResourceType type, ResourceMap resources, HashSet<String> inclusions,
@@ -153,4 +345,29 @@ public class BeanScanner {
     return (Collection) this.beanClasses;
   }
 
+  /**
+   * A public type found by the {@link BeanScanner#BeanScanner(ForkJoinPool) parallel scan} that is a bean if one of its
+   * {@link #parents} is a bean.
+   */
+  private static final class BeanCandidate {
+
+    private final ResourceType type;
+
+    private final String name;
+
+    private final boolean isInterface;
+
+    /** The qualified names of the super-interfaces or the super-class. */
+    private final String[] parents;
+
+    private BeanCandidate(ResourceType type, boolean isInterface, String[] parents) {
+
+      super();
+      this.type = type;
+      this.name = type.getName();
+      this.isInterface = isInterface;
+      this.parents = parents;
+    }
+  }
+
 }
@@ -0,0 +1,181 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.bean.factory.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.bean.factory.impl.MemoryCache.RetentionPolicy;
+
+/**
+ * Test of {@link MemoryCache}.
+ */
+class MemoryCacheTest extends Assertions {
+
+  /** Test of {@link MemoryCache#get(Object, java.util.function.Supplier)} counting hits and misses. */
+  @Test
+  void testHitsAndMisses() {
+
+    // arrange
+    MemoryCache<String, Object> cache = new MemoryCache<>(RetentionPolicy.STRONG, Duration.ZERO);
+    Object value = new Object();
+    // act
+    Object first = cache.get("key", () -> value);
+    Object second = cache.get("key", Object::new);
+    cache.get("other", Object::new);
+    // assert
+    assertThat(first).isSameAs(value);
+    assertThat(second).isSameAs(value);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(2);
+    assertThat(cache.getRebuildCount()).isZero();
+    assertThat(cache.getSize()).isEqualTo(2);
+    assertThat(cache.toString()).isEqualTo("MemoryCache[STRONG, size=2, hits=1, misses=2, rebuilds=0]");
+  }
+
+  /** Test of {@link RetentionPolicy#STRONG}. */
+  @Test
+  void testStrongRetention() {
+
+    // arrange
+    MemoryCache<String, Object> cache = new MemoryCache<>(RetentionPolicy.STRONG, Duration.ZERO);
+    cache.get("key", Object::new);
+    // act
+    collectGarbage(() -> false);
+    cache.get("key", Object::new);
+    // assert
+    assertThat(cache.getSize()).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getRebuildCount()).isZero();
+  }
+
+  /** Test of {@link RetentionPolicy#SOFT}. */
+  @Test
+  void testSoftRetention() {
+
+    // arrange
+    MemoryCache<String, Object> cache = new MemoryCache<>(RetentionPolicy.SOFT, Duration.ZERO);
+    cache.get("key", Object::new);
+    // act
+    collectGarbage(() -> false);
+    cache.get("key", Object::new);
+    // assert (soft references are only cleared if memory gets low)
+    assertThat(cache.getSize()).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getRebuildCount()).isZero();
+  }
+
+  /** Test of {@link RetentionPolicy#WEAK} without minimum time to live. */
+  @Test
+  void testWeakRetention() {
+
+    // arrange
+    MemoryCache<String, Object> cache = new MemoryCache<>(RetentionPolicy.WEAK, Duration.ZERO);
+    cache.get("key", Object::new);
+    // act
+    collectGarbage(() -> cache.getSize() == 0);
+    cache.get("key", Object::new);
+    // assert
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.getRebuildCount()).isEqualTo(1);
+    assertThat(cache.getHitCount()).isZero();
+    assertThat(cache.getSize()).isEqualTo(1);
+  }
+
+  /** Test of {@link RetentionPolicy#WEAK} with minimum time to live holding values until they expire. */
+  @Test
+  void testWeakRetentionWithTtl() throws InterruptedException {
+
+    // arrange
+    Duration ttl = Duration.ofMillis(200);
+    MemoryCache<String, Object> cache = new MemoryCache<>(RetentionPolicy.WEAK, ttl);
+    cache.get("expire", Object::new);
+    Object value = cache.get("keep", Object::new);
+    // act + assert (pinned values survive garbage collection)
+    collectGarbage(() -> false);
+    assertThat(cache.getSize()).isEqualTo(2);
+    Thread.sleep(ttl.toMillis() * 2);
+    // a hit on another key releases the expired pins - no miss required
+    assertThat(cache.get("keep", Object::new)).isSameAs(value);
+    collectGarbage(() -> cache.getSize() == 1);
+    cache.get("expire", Object::new);
+    // assert
+    assertThat(cache.getMissCount()).isEqualTo(2);
+    assertThat(cache.getRebuildCount()).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+  }
+
+  /** Test of {@link MemoryCache#get(Object, java.util.function.Supplier)} with concurrent misses on the same key. */
+  @Test
+  void testConcurrentMissesCreateOnce() throws Exception {
+
+    // arrange
+    MemoryCache<String, Object> cache = new MemoryCache<>(RetentionPolicy.WEAK, Duration.ofMinutes(1));
+    AtomicInteger creations = new AtomicInteger();
+    int threads = 8;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<Object>> futures = new ArrayList<>();
+    try {
+      for (int i = 0; i < threads; i++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          return cache.get("key", () -> {
+            creations.incrementAndGet();
+            return new Object();
+          });
+        }));
+      }
+      // act
+      start.countDown();
+      List<Object> results = new ArrayList<>();
+      for (Future<Object> future : futures) {
+        results.add(future.get());
+      }
+      // assert
+      assertThat(creations.get()).isEqualTo(1);
+      assertThat(results).allMatch(result -> result == results.get(0));
+      assertThat(cache.getMissCount()).isEqualTo(1);
+      assertThat(cache.getHitCount()).isEqualTo(threads - 1);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /** Test of {@link RetentionPolicy#of(String, RetentionPolicy)}. */
+  @Test
+  void testRetentionPolicyOf() {
+
+    assertThat(RetentionPolicy.of(null, RetentionPolicy.SOFT)).isSameAs(RetentionPolicy.SOFT);
+    assertThat(RetentionPolicy.of("", RetentionPolicy.SOFT)).isSameAs(RetentionPolicy.SOFT);
+    assertThat(RetentionPolicy.of("weak", RetentionPolicy.SOFT)).isSameAs(RetentionPolicy.WEAK);
+    assertThat(RetentionPolicy.of("STRONG", RetentionPolicy.SOFT)).isSameAs(RetentionPolicy.STRONG);
+  }
+
+  private static void collectGarbage(BooleanSupplier done) {
+
+    for (int i = 0; i < 20; i++) {
+      System.gc();
+      if (done.getAsBoolean()) {
+        return;
+      }
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+}
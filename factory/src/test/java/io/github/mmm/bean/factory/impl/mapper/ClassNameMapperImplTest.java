@@ -0,0 +1,242 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.bean.factory.impl.mapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.base.exception.DuplicateObjectException;
+import io.github.mmm.base.exception.ObjectNotFoundException;
+import io.github.mmm.bean.AbstractBean;
+import io.github.mmm.bean.Bean;
+import io.github.mmm.bean.BeanName;
+import io.github.mmm.bean.WritableBean;
+import io.github.mmm.bean.factory.test.MapperBean;
+import io.github.mmm.bean.impl.BeanTypeImpl;
+import io.github.mmm.bean.mapping.ClassNameMapper;
+
+/**
+ * Test of {@link ClassNameMapperImpl}.
+ */
+class ClassNameMapperImplTest extends Assertions {
+
+  private static final Class<?> OTHER_BEAN = io.github.mmm.bean.factory.test.other.MapperBean.class;
+
+  private final AtomicInteger scans = new AtomicInteger();
+
+  private final Supplier<Collection<Class<?>>> beanTypes = () -> {
+    this.scans.incrementAndGet();
+    return List.of(MapperBean.class, OTHER_BEAN);
+  };
+
+  /** Test that neither the constructor nor the on-demand registration of a bean class triggers a scan. */
+  @Test
+  void testNoScanOnConstructionAndRegistrationByClass() {
+
+    // arrange
+    ClassNameMapperImpl mapper = new ClassNameMapperImpl(this.beanTypes);
+    assertThat(this.scans.get()).isZero();
+    // act
+    String name = mapper.getName(MapperBean.class);
+    String otherName = mapper.getName(OTHER_BEAN);
+    // assert
+    assertThat(name).isEqualTo("MapperBean");
+    assertThat(otherName).isEqualTo("com.example.MapperBean");
+    assertThat(mapper.getClass("com.example.MapperBean")).isSameAs(OTHER_BEAN);
+    assertThat(this.scans.get()).isZero();
+  }
+
+  /** Test that abstract bean classes and the generic bean types are not registered on demand. */
+  @Test
+  void testNoRegistrationOfAbstractOrGenericBeanTypes() {
+
+    // arrange
+    ClassNameMapperImpl mapper = new ClassNameMapperImpl(this.beanTypes);
+    // act + assert
+    assertThat(mapper.contains(AbstractBean.class)).isFalse();
+    assertThat(mapper.contains(WritableBean.class)).isFalse();
+    assertThat(mapper.contains(Bean.class)).isFalse();
+    assertThat(mapper.getNameOrQualified(AbstractBean.class)).isEqualTo(AbstractBean.class.getName());
+    try {
+      mapper.getName(AbstractBean.class);
+      failBecauseExceptionWasNotThrown(ObjectNotFoundException.class);
+    } catch (ObjectNotFoundException e) {
+      // expected
+    }
+    assertThat(mapper.contains(MapperBean.class)).isTrue();
+    assertThat(this.scans.get()).isZero();
+  }
+
+  /** Test that a lookup miss by name registers all bean types exactly once. */
+  @Test
+  void testLookupMissRegistersAllOnce() {
+
+    // arrange
+    ClassNameMapperImpl mapper = new ClassNameMapperImpl(this.beanTypes);
+    // act
+    Class<?> beanClass = mapper.getClass("MapperBean");
+    // assert
+    assertThat(beanClass).isSameAs(MapperBean.class);
+    assertThat(this.scans.get()).isEqualTo(1);
+    assertThat(mapper.contains("Undefined")).isFalse();
+    try {
+      mapper.getClass("Undefined");
+      failBecauseExceptionWasNotThrown(ObjectNotFoundException.class);
+    } catch (ObjectNotFoundException e) {
+      // expected
+    }
+    assertThat(mapper.getClass("com.example.MapperBean")).isSameAs(OTHER_BEAN);
+    assertThat(this.scans.get()).isEqualTo(1);
+  }
+
+  /** Test that a simple name is mapped by priority independent of the beans registered on demand before. */
+  @Test
+  void testSimpleNameIndependentOfCallHistory() {
+
+    // arrange
+    ClassNameMapperImpl mapper = new ClassNameMapperImpl(this.beanTypes);
+    // register bean with lower priority but the same simple name on demand
+    mapper.getName(OTHER_BEAN);
+    // act
+    Class<?> beanClass = mapper.getClass("MapperBean");
+    // assert
+    assertThat(beanClass).isSameAs(MapperBean.class);
+    assertThat(mapper.getName(OTHER_BEAN)).isEqualTo("com.example.MapperBean");
+    assertThat(this.scans.get()).isEqualTo(1);
+  }
+
+  /** Test of {@link ClassNameMapperImpl#getTypeId(Class)} and {@link ClassNameMapperImpl#getClass(int)}. */
+  @Test
+  void testTypeIdRoundTrip() {
+
+    // arrange
+    ClassNameMapperImpl mapper = new ClassNameMapperImpl(this.beanTypes);
+    int derivedId = BeanTypeImpl.deriveTypeId("com.example.MapperBean");
+    // act
+    int explicitTypeId = mapper.getTypeId(MapperBean.class);
+    int derivedTypeId = mapper.getTypeId(OTHER_BEAN);
+    // assert
+    assertThat(explicitTypeId).isEqualTo(4711);
+    assertThat(derivedTypeId).isEqualTo(derivedId).isGreaterThan(ClassNameMapper.MAX_EXPLICIT_TYPE_ID);
+    assertThat(mapper.getClass(explicitTypeId)).isSameAs(MapperBean.class);
+    assertThat(mapper.getClass(derivedTypeId)).isSameAs(OTHER_BEAN);
+    assertThat(new ClassNameMapperImpl(this.beanTypes).getClass(derivedTypeId)).isSameAs(OTHER_BEAN);
+    try {
+      mapper.getClass(4712);
+      failBecauseExceptionWasNotThrown(ObjectNotFoundException.class);
+    } catch (ObjectNotFoundException e) {
+      // expected
+    }
+  }
+
+  /** Test that two beans with the same explicit {@link BeanName#id() type ID} are rejected. */
+  @Test
+  void testDuplicateExplicitTypeId() {
+
+    // arrange
+    ClassNameMapperImpl mapper = new ClassNameMapperImpl(() -> List.of(MapperBean.class, DuplicateIdBean.class));
+    // act + assert
+    try {
+      mapper.getClass(4711);
+      failBecauseExceptionWasNotThrown(DuplicateObjectException.class);
+    } catch (DuplicateObjectException e) {
+      // expected
+    }
+  }
+
+  /** Test that beans with colliding derived type IDs are registered without type ID instead of failing. */
+  @Test
+  void testCollidingDerivedTypeId() {
+
+    // arrange
+    int derivedId = BeanTypeImpl.deriveTypeId("com.example.CollisionBean13088");
+    assertThat(BeanTypeImpl.deriveTypeId("com.example.CollisionBean16094")).isEqualTo(derivedId);
+    ClassNameMapperImpl mapper = new ClassNameMapperImpl(
+        () -> List.of(MapperBean.class, CollisionBean.class, OtherCollisionBean.class));
+    // act
+    Class<?> beanClass = mapper.getClass("com.example.CollisionBean13088");
+    Class<?> otherBeanClass = mapper.getClass("com.example.CollisionBean16094");
+    // assert
+    assertThat(beanClass).isSameAs(CollisionBean.class);
+    assertThat(otherBeanClass).isSameAs(OtherCollisionBean.class);
+    assertThat(mapper.getTypeId(CollisionBean.class)).isZero();
+    assertThat(mapper.getTypeId(OtherCollisionBean.class)).isZero();
+    assertThat(mapper.getTypeId(MapperBean.class)).isEqualTo(4711);
+    try {
+      mapper.getClass(derivedId);
+      failBecauseExceptionWasNotThrown(ObjectNotFoundException.class);
+    } catch (ObjectNotFoundException e) {
+      // expected
+    }
+  }
+
+  /** Test of concurrent lookups while beans are registered lazily. */
+  @Test
+  void testConcurrentReaders() throws Exception {
+
+    // arrange
+    ClassNameMapperImpl mapper = new ClassNameMapperImpl(this.beanTypes);
+    int threads = 8;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<List<Object>>> futures = new ArrayList<>();
+    try {
+      for (int i = 0; i < threads; i++) {
+        boolean byClassFirst = (i % 2) == 0;
+        futures.add(executor.submit(() -> {
+          start.await();
+          List<Object> results = new ArrayList<>();
+          for (int j = 0; j < 100; j++) {
+            if (byClassFirst) {
+              results.add(mapper.getName(OTHER_BEAN));
+              results.add(mapper.getClass("MapperBean"));
+            } else {
+              results.add(mapper.getClass("MapperBean"));
+              results.add(mapper.getName(OTHER_BEAN));
+            }
+            results.add(mapper.getName(MapperBean.class));
+          }
+          return results;
+        }));
+      }
+      // act
+      start.countDown();
+      // assert
+      for (Future<List<Object>> future : futures) {
+        assertThat(future.get()).containsOnly("com.example.MapperBean", MapperBean.class, "MapperBean");
+      }
+      assertThat(this.scans.get()).isEqualTo(1);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /** Bean with a derived type ID colliding with {@link OtherCollisionBean}. */
+  @BeanName("com.example.CollisionBean13088")
+  interface CollisionBean extends WritableBean {
+
+  }
+
+  /** Bean with a derived type ID colliding with {@link CollisionBean}. */
+  @BeanName("com.example.CollisionBean16094")
+  interface OtherCollisionBean extends WritableBean {
+
+  }
+
+  /** Bean with the same explicit type ID as {@link MapperBean} (not public so it is ignored by the scanner). */
+  @BeanName(value = "io.github.mmm.test.DuplicateIdBean", id = 4711)
+  interface DuplicateIdBean extends WritableBean {
+
+  }
+
+}
@@ -0,0 +1,93 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.bean.factory.test;
+
+import java.lang.reflect.Proxy;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.bean.WritableBean;
+import io.github.mmm.bean.factory.impl.BeanInterfaceCreator;
+import io.github.mmm.property.number.integers.IntegerProperty;
+
+/**
+ * Test of {@link BeanFactoryImplTest} with {@link BeanInterfaceCreator#isHiddenClasses() hidden classes}.
+ */
+class BeanFactoryImplHiddenClassTest extends BeanFactoryImplTest {
+
+  private final BeanInterfaceCreator creator = new BeanInterfaceCreator(getClass().getClassLoader(), true);
+
+  @Override
+  protected <B extends WritableBean> B create(Class<B> type) {
+
+    B bean = this.creator.create(type, null);
+    assertThat(bean.getClass().isHidden()).as(type.getName()).isTrue();
+    return bean;
+  }
+
+  @Override
+  protected <B extends WritableBean> B getEmpty(Class<B> type) {
+
+    B bean = this.creator.getEmpty(type);
+    assertThat(bean.getClass().isHidden()).as(type.getName()).isTrue();
+    return bean;
+  }
+
+  /**
+   * Test of {@link BeanInterfaceCreator#create(Class, io.github.mmm.bean.BeanClass)} from an interface with
+   * {@link BeanInterfaceCreator#isHiddenClasses() hidden classes}.
+   */
+  @Test
+  void testCreateFromInterfaceAsHiddenClass() {
+
+    PersonBean bean = create(PersonBean.class);
+    assertThat(bean).isNotNull();
+    assertThat(bean.Name().getName()).isEqualTo("Name");
+    assertThat(bean.Name().get()).isNull();
+    assertThat(bean.getProperty("Name")).isSameAs(bean.Name());
+    String name = "John Doe";
+    bean.setName(name);
+    assertThat(bean.getName()).isEqualTo(name);
+    assertThat(bean.Name().get()).isEqualTo(name);
+    Integer age = Integer.valueOf(42);
+    bean.setAge(age);
+    assertThat(bean.getAge()).isEqualTo(age);
+    assertThat(bean.Age().get()).isEqualTo(age);
+    assertThat(bean.getProperty("IceAge")).isSameAs(bean.Age());
+    PersonBean copy = WritableBean.getReadOnly(bean);
+    assertThat(copy.getClass().isHidden()).isTrue();
+    assertThat(copy.Age().get()).isEqualTo(age);
+    assertThat(copy.Name().get()).isEqualTo(name);
+    assertThat(bean).isEqualTo(bean);
+    assertThat(bean).isNotEqualTo(copy);
+    assertThat(bean.isEqual(copy)).isTrue();
+  }
+
+  /**
+   * Test that {@link BeanInterfaceCreator} falls back to {@link Proxy} for an interface that can not be implemented by
+   * a hidden class.
+   */
+  @Test
+  void testFallbackToProxy() {
+
+    // act
+    NonPublicBean bean = this.creator.create(NonPublicBean.class, null);
+    bean.setValue(42);
+    // assert
+    assertThat(Proxy.isProxyClass(bean.getClass())).isTrue();
+    assertThat(bean.getValue()).isEqualTo(42);
+    assertThat(bean.Value().get()).isEqualTo(42);
+  }
+
+  /** Bean that is not public and can therefore not be implemented by a hidden class. */
+  interface NonPublicBean extends WritableBean {
+
+    IntegerProperty Value();
+
+    int getValue();
+
+    void setValue(int value);
+
+  }
+
+}
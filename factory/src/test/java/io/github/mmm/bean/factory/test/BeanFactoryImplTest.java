@@ -2,24 +2,50 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.bean.factory.test;
 
+import java.util.List;
+
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import io.github.mmm.base.exception.ReadOnlyException;
 import io.github.mmm.bean.BeanFactory;
+import io.github.mmm.bean.ReadableBean;
 import io.github.mmm.bean.WritableBean;
+import io.github.mmm.bean.factory.impl.BeanInterfaceCreator;
+import io.github.mmm.property.WritableProperty;
 import io.github.mmm.property.string.StringProperty;
 
 /**
- * Test of {@link BeanFactory}[Impl].
+ * Test of {@link BeanFactory}[Impl]. The tests are also run with {@link BeanInterfaceCreator#isHiddenClasses() hidden
+ * classes} by {@link BeanFactoryImplHiddenClassTest}.
  */
 class BeanFactoryImplTest extends Assertions {
 
+  /**
+   * @param <B> type of the bean.
+   * @param type the {@link Class} reflecting the bean interface.
+   * @return the new bean instance.
+   */
+  protected <B extends WritableBean> B create(Class<B> type) {
+
+    return BeanFactory.get().create(type);
+  }
+
+  /**
+   * @param <B> type of the bean.
+   * @param type the {@link Class} reflecting the bean interface.
+   * @return the empty bean instance.
+   */
+  protected <B extends WritableBean> B getEmpty(Class<B> type) {
+
+    return BeanFactory.get().getEmpty(type);
+  }
+
   /** Test of {@link BeanFactory#create(Class)} from an interface. */
   @Test
   void testCreateFromInterface() {
 
-    PersonBean bean = BeanFactory.get().create(PersonBean.class);
+    PersonBean bean = create(PersonBean.class);
     assertThat(bean).isNotNull();
     assertThat(bean.Name().getName()).isEqualTo("Name");
     assertThat(bean.Name().get()).isNull();
@@ -50,13 +76,24 @@ class BeanFactoryImplTest extends Assertions {
     }
   }
 
+  /** Test of {@link BeanFactory#getEmpty(Class)} from an interface. */
+  @Test
+  void testGetEmptyFromInterface() {
+
+    PersonBean empty = getEmpty(PersonBean.class);
+    assertThat(empty).isNotNull();
+    assertThat(empty.isReadOnly()).isTrue();
+    assertThat(empty.getName()).isNull();
+    assertThat(getEmpty(PersonBean.class)).isSameAs(empty);
+  }
+
   /**
    * Test of aliases (via {@link io.github.mmm.bean.PropertyAlias} annotation) from bean interface {@link PersonBean}.
    */
   @Test
   void testCreateFromInterfaceWithAlias() {
 
-    PersonBean bean = BeanFactory.get().create(PersonBean.class);
+    PersonBean bean = create(PersonBean.class);
     assertThat(bean).isNotNull();
     // name
     StringProperty nameProperty = bean.Name();
@@ -71,4 +108,136 @@ class BeanFactoryImplTest extends Assertions {
     assertThat(bean.getAliases().getAliases("Age")).containsExactlyInAnyOrder("IceAge");
     assertThat(bean.getProperty("IceAge")).isSameAs(bean.Age());
   }
+
+  /**
+   * Test of {@link BeanFactory#create(Class)} and {@link ReadableBean#newInstance(ReadableBean)} for properties
+   * copied from the prototype of an interface.
+   */
+  @Test
+  void testCreateFromInterfaceIndependentOfPrototype() {
+
+    // arrange
+    FamilyBean first = create(FamilyBean.class);
+    first.Name().set("Doe");
+    first.Head().get().setName("John");
+    // act
+    FamilyBean second = create(FamilyBean.class);
+    FamilyBean third = ReadableBean.newInstance(first);
+    // assert
+    assertThat(first.Greeting().get()).isEqualTo("Dear Doe family");
+    for (FamilyBean bean : List.of(second, third)) {
+      assertThat(bean.Name()).isNotSameAs(first.Name());
+      assertThat(bean.Name().get()).isNull();
+      assertThat(bean.Greeting()).isNotSameAs(first.Greeting());
+      assertThat(bean.Greeting().get()).isNull();
+      assertThat(bean.Head()).isNotSameAs(first.Head());
+      assertThat(bean.Head().get()).isNotNull().isNotSameAs(first.Head().get());
+      assertThat(bean.Head().get().getName()).isNull();
+    }
+    second.Name().set("Smith");
+    second.Head().get().setName("Jane");
+    assertThat(second.Greeting().get()).isEqualTo("Dear Smith family");
+    assertThat(third.Greeting().get()).isNull();
+    assertThat(third.Head().get().getName()).isNull();
+    assertThat(first.Greeting().get()).isEqualTo("Dear Doe family");
+    assertThat(first.Head().get().getName()).isEqualTo("John");
+  }
+
+  /** Test of {@link BeanFactory#create(Class)} from an interface with primitive and boxed getters and setters. */
+  @Test
+  void testCreateFromInterfaceWithPrimitives() {
+
+    // arrange
+    CounterBean bean = create(CounterBean.class);
+    // act + assert
+    assertThat(bean.getCount()).isZero();
+    assertThat(bean.isActive()).isFalse();
+    assertThat(bean.getTotal()).isZero();
+    assertThat(bean.getRatio()).isZero();
+    assertThat(bean.getLimit()).isNull();
+    bean.setCount(21);
+    bean.setActive(true);
+    bean.setTotal(1L << 40);
+    bean.setRatio(0.5);
+    bean.setLimit(Integer.valueOf(7));
+    assertThat(bean.getCount()).isEqualTo(21);
+    assertThat(bean.Count().get()).isEqualTo(21);
+    assertThat(bean.getProperty("Count")).isSameAs(bean.Count());
+    assertThat(bean.isActive()).isTrue();
+    assertThat(bean.getTotal()).isEqualTo(1L << 40);
+    assertThat(bean.getRatio()).isEqualTo(0.5);
+    assertThat(bean.getLimit()).isEqualTo(7);
+    bean.setLimit(null);
+    assertThat(bean.getLimit()).isNull();
+    CounterBean copy = ReadableBean.newInstance(bean);
+    assertThat(copy.getCount()).isZero();
+    assertThat(copy.Count()).isNotSameAs(bean.Count());
+  }
+
+  /** Test of {@link BeanFactory#create(Class)} from an interface with default methods. */
+  @Test
+  void testCreateFromInterfaceWithDefaultMethods() {
+
+    // arrange
+    CounterBean bean = create(CounterBean.class);
+    FamilyBean family = create(FamilyBean.class);
+    // act
+    bean.setCount(21);
+    family.Name().set("Doe");
+    // assert
+    assertThat(bean.getDoubleCount()).isEqualTo(42);
+    assertThat(bean.format("Count", 3, 4L)).isEqualTo("Count:3:4:21");
+    assertThat(family.Greeting().get()).isEqualTo("Dear Doe family");
+    assertThat(family.getProperty("Greeting")).isSameAs(family.Greeting());
+  }
+
+  /** Test of a property added at runtime to a {@link io.github.mmm.bean.VirtualBean} created from an interface. */
+  @Test
+  void testCreateFromInterfaceWithDynamicProperty() {
+
+    // arrange
+    PersonBean bean = create(PersonBean.class);
+    bean.setAge(42);
+    // act
+    WritableProperty<String> nickname = bean.createProperty("Nickname", String.class);
+    nickname.set("Johnny");
+    // assert
+    assertThat(bean.isDynamic()).isTrue();
+    assertThat(bean.getProperty("Nickname")).isSameAs(nickname);
+    assertThat(bean.getAge()).isEqualTo(42);
+    PersonBean readOnly = WritableBean.getReadOnly(bean);
+    assertThat(readOnly.getProperty("Nickname").get()).isEqualTo("Johnny");
+    assertThat(readOnly.getAge()).isEqualTo(42);
+    assertThat(create(PersonBean.class).getProperty("Nickname")).isNull();
+  }
+
+  /** Test of {@link WritableBean#getReadOnly(WritableBean)} and {@link BeanFactory#getEmpty(Class)} with primitives. */
+  @Test
+  void testReadOnlyAndEmptyWithPrimitives() {
+
+    // arrange
+    CounterBean bean = create(CounterBean.class);
+    bean.setCount(21);
+    bean.setTotal(42L);
+    // act
+    CounterBean readOnly = WritableBean.getReadOnly(bean);
+    CounterBean empty = getEmpty(CounterBean.class);
+    // assert
+    assertThat(readOnly.isReadOnly()).isTrue();
+    assertThat(readOnly.getCount()).isEqualTo(21);
+    assertThat(readOnly.getTotal()).isEqualTo(42L);
+    assertThat(readOnly.getDoubleCount()).isEqualTo(42);
+    try {
+      readOnly.setCount(1);
+      failBecauseExceptionWasNotThrown(ReadOnlyException.class);
+    } catch (ReadOnlyException e) {
+      // expected
+    }
+    assertThat(bean.getCount()).isEqualTo(21);
+    assertThat(empty.isReadOnly()).isTrue();
+    assertThat(empty.getCount()).isZero();
+    assertThat(empty.isActive()).isFalse();
+    assertThat(getEmpty(CounterBean.class)).isSameAs(empty);
+  }
+
 }
@@ -0,0 +1,57 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.bean.factory.test;
+
+import io.github.mmm.bean.WritableBean;
+import io.github.mmm.property.booleans.BooleanProperty;
+import io.github.mmm.property.number.doubles.DoubleProperty;
+import io.github.mmm.property.number.integers.IntegerProperty;
+import io.github.mmm.property.number.longs.LongProperty;
+
+/**
+ * {@link WritableBean} to test dynamic creation from interface with primitive getters and setters and default methods.
+ */
+@SuppressWarnings("javadoc")
+public interface CounterBean extends WritableBean {
+
+  IntegerProperty Count();
+
+  int getCount();
+
+  void setCount(int count);
+
+  BooleanProperty Active();
+
+  boolean isActive();
+
+  void setActive(boolean active);
+
+  LongProperty Total();
+
+  long getTotal();
+
+  void setTotal(long total);
+
+  DoubleProperty Ratio();
+
+  double getRatio();
+
+  void setRatio(double ratio);
+
+  IntegerProperty Limit();
+
+  Integer getLimit();
+
+  void setLimit(Integer limit);
+
+  default int getDoubleCount() {
+
+    return getCount() * 2;
+  }
+
+  default String format(String prefix, int width, long offset) {
+
+    return prefix + ":" + width + ":" + offset + ":" + getCount();
+  }
+
+}
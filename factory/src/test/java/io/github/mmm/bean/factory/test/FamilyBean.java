@@ -0,0 +1,31 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.bean.factory.test;
+
+import io.github.mmm.bean.VirtualBean;
+import io.github.mmm.bean.property.BeanProperty;
+import io.github.mmm.property.PropertyMetadata;
+import io.github.mmm.property.string.StringProperty;
+
+/**
+ * {@link VirtualBean} to test dynamic creation from interface with a default method property and a bean property.
+ */
+@SuppressWarnings("javadoc")
+public interface FamilyBean extends VirtualBean {
+
+  StringProperty Name();
+
+  BeanProperty<PersonBean> Head();
+
+  default StringProperty Greeting() {
+
+    return new StringProperty("Greeting", PropertyMetadata.ofExpression(() -> {
+      String name = Name().get();
+      if (name == null) {
+        return null;
+      }
+      return "Dear " + name + " family";
+    }));
+  }
+
+}
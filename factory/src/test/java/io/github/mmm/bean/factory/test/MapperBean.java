@@ -0,0 +1,14 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.bean.factory.test;
+
+import io.github.mmm.bean.BeanName;
+import io.github.mmm.bean.WritableBean;
+
+/**
+ * {@link WritableBean} to test {@link io.github.mmm.bean.mapping.ClassNameMapper} with a high priority name.
+ */
+@BeanName(value = "io.github.mmm.test.MapperBean", id = 4711)
+public interface MapperBean extends WritableBean {
+
+}
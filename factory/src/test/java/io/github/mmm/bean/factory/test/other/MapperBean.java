@@ -0,0 +1,15 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.bean.factory.test.other;
+
+import io.github.mmm.bean.BeanName;
+import io.github.mmm.bean.WritableBean;
+
+/**
+ * {@link WritableBean} to test {@link io.github.mmm.bean.mapping.ClassNameMapper} with a low priority name and the
+ * same simple name as {@link io.github.mmm.bean.factory.test.MapperBean}.
+ */
+@BeanName("com.example.MapperBean")
+public interface MapperBean extends WritableBean {
+
+}
@@ -30,6 +30,7 @@ import io.github.mmm.base.exception.RuntimeIoException;
 import io.github.mmm.bean.AbstractBeanCreator;
 import io.github.mmm.bean.BeanFactory;
 import io.github.mmm.bean.WritableBean;
+import io.github.mmm.bean.factory.scanner.BeanIndex;
 import io.github.mmm.bean.factory.scanner.BeanScanner;
 
 /**
@@ -57,8 +58,26 @@ public class BeanGenerator {
    */
   public void generate(Path targetDir, ClassLoader classloader) {
 
+    generate(targetDir, null, classloader);
+  }
+
+  /**
+   * Scans the class-path of the given {@link ClassLoader} for interfaces extending {@link WritableBean} (do not use
+   * module path when calling this).
+   *
+   * @param targetDir the {@link Path} to the base-directory where to generate the source code. Sub-directories for
+   *        required packages will be created automatically.
+   * @param resourceDir the {@link Path} to the base-directory where to generate the {@link BeanIndex} as resource or
+   *        {@code null} to omit the index.
+   * @param classloader the {@link ClassLoader} to scan for interfaces extending {@link WritableBean}.
+   */
+  public void generate(Path targetDir, Path resourceDir, ClassLoader classloader) {
+
     List<BeanMetadataContainer> metadataList = new ArrayList<>();
     BeanScanner scanner = new BeanScanner();
+    if (resourceDir != null) {
+      generateIndex(scanner.findBeanInterfaces(), scanner.findBeanClasses(), resourceDir);
+    }
     Collection<Class<? extends WritableBean>> beanClasses = scanner.findBeanInterfaces();
     for (Class<? extends WritableBean> beanClass : beanClasses) {
       BeanMetadataContainer metadata = generate(beanClass, targetDir);
@@ -150,6 +169,48 @@ public class BeanGenerator {
     }
   }
 
+  /**
+   * Generates the {@link BeanIndex} so the {@link BeanScanner} can find the beans at runtime without scanning.
+   *
+   * @param beanInterfaces the {@link Collection} of {@link Class}es reflecting the bean interfaces.
+   * @param beanClasses the {@link Collection} of {@link Class}es reflecting the bean classes.
+   * @param resourceDir the {@link Path} to the base-directory of the resources where to generate the index at
+   *        {@link BeanIndex#PATH}.
+   */
+  public void generateIndex(Collection<Class<? extends WritableBean>> beanInterfaces,
+      Collection<Class<? extends WritableBean>> beanClasses, Path resourceDir) {
+
+    try {
+      Path targetFile = resourceDir.resolve(BeanIndex.PATH);
+      Files.createDirectories(targetFile.getParent());
+      try (BufferedWriter writer = Files.newBufferedWriter(targetFile, StandardCharsets.UTF_8)) {
+        generateIndex(beanInterfaces, beanClasses, writer);
+      }
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
+    }
+  }
+
+  /**
+   * Generates the {@link BeanIndex} so the {@link BeanScanner} can find the beans at runtime without scanning.
+   *
+   * @param beanInterfaces the {@link Collection} of {@link Class}es reflecting the bean interfaces.
+   * @param beanClasses the {@link Collection} of {@link Class}es reflecting the bean classes.
+   * @param writer the {@link Writer} to write the index to.
+   */
+  public void generateIndex(Collection<Class<? extends WritableBean>> beanInterfaces,
+      Collection<Class<? extends WritableBean>> beanClasses, Writer writer) {
+
+    LOG.debug("Generating bean index with {} interfaces and {} classes", beanInterfaces.size(), beanClasses.size());
+    BeanIndex index = new BeanIndex(beanInterfaces.stream().map(Class::getName).collect(Collectors.toList()),
+        beanClasses.stream().map(Class::getName).collect(Collectors.toList()));
+    try {
+      index.write(writer);
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
+    }
+  }
+
   /**
    * @param beanClass the {@link Class} reflecting the {@link WritableBean} to generate.
    * @param targetDir the {@link Path} to the base-directory where to generate the source-code. Sub-directories for
@@ -268,7 +329,8 @@ public class BeanGenerator {
 
   /**
    * @param args the commandline arguments. The first argument is the target directory where the generated code is
-   *        written to. If no arguments are provided, code is written to "./target/generated".
+   *        written to. If no arguments are provided, code is written to "./target/generated". The optional second
+   *        argument is the resource directory where the {@link BeanIndex} is written to.
    */
   public static void main(String[] args) {
 
@@ -278,8 +340,12 @@ public class BeanGenerator {
     } else {
       targetDir = Paths.get("target", "generated");
     }
+    Path resourceDir = null;
+    if (args.length > 1) {
+      resourceDir = Paths.get(args[1]);
+    }
     BeanGenerator generator = new BeanGenerator();
-    generator.generate(targetDir, null);
+    generator.generate(targetDir, resourceDir, null);
   }
 
 }
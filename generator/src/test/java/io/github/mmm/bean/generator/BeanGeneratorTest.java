@@ -2,13 +2,19 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.bean.generator;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.List;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import io.github.mmm.bean.factory.scanner.BeanIndex;
 import io.github.mmm.bean.generator.test.ContactBean;
+import io.github.mmm.bean.generator.test.ContactBeanImpl;
+import io.github.mmm.bean.generator.test.PersonBean;
 
 /**
  * Test of {@link BeanGenerator}.
@@ -100,4 +106,31 @@ class BeanGeneratorTest extends Assertions {
         """);
   }
 
+  /**
+   * Test of {@link BeanGenerator#generateIndex(java.util.Collection, java.util.Collection, Writer)}
+   *
+   * @throws IOException on error.
+   */
+  @Test
+  void testGenerateIndex() throws IOException {
+
+    // arrange
+    BeanGenerator generator = new BeanGenerator();
+    Writer writer = new StringWriter();
+    // act
+    generator.generateIndex(List.of(PersonBean.class, ContactBean.class), List.of(ContactBeanImpl.class), writer);
+    String index = writer.toString();
+    // assert
+    assertThat(index).isEqualTo("""
+        # mmm bean index - generated, do not edit
+        I io.github.mmm.bean.generator.test.ContactBean
+        I io.github.mmm.bean.generator.test.PersonBean
+        C io.github.mmm.bean.generator.test.ContactBeanImpl
+        """);
+    BeanIndex beanIndex = BeanIndex.read(new StringReader(index));
+    assertThat(beanIndex.getInterfaceNames()).containsExactlyInAnyOrder(ContactBean.class.getName(),
+        PersonBean.class.getName());
+    assertThat(beanIndex.getClassNames()).containsExactly(ContactBeanImpl.class.getName());
+  }
+
 }